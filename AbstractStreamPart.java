@@ -1,18 +1,39 @@
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
 import java.util.function.UnaryOperator;
 
 abstract class AbstractStreamPart<IN, OUT> implements Stream<OUT>, StreamOperable<IN> {
 
+    private static final int DEFAULT_JOIN_IN_MEMORY_LIMIT = 1 << 20;
+    private static final Set<Class<?>> CONSISTENTLY_ORDERED = Set.of(String.class, Integer.class, Long.class,
+            Short.class, Byte.class, Character.class, Boolean.class, Double.class, Float.class, BigInteger.class,
+            UUID.class, Instant.class, LocalDate.class, LocalTime.class, LocalDateTime.class);
+
     private StreamOperable<OUT> next;
 
     StreamOperable<OUT> getNext() {
@@ -27,12 +48,39 @@ abstract class AbstractStreamPart<IN, OUT> implements Stream<OUT>, StreamOperabl
 
     abstract SourcePart<?> getSource();
 
+    private <R> R evaluate(Terminal<? super OUT, R> terminal) {
+        return evaluate(Terminal.<OUT, R>newOperation(terminal));
+    }
+
     private <R> R evaluate(TerminalStreamOperation<OUT, R> terminal) {
-        setNext(() -> terminal);
-        getSource().processStream();
+        evaluateInto(terminal);
         return terminal.get();
     }
 
+    /**
+     * Evaluates this stream by pushing all elements into the given operation.
+     */
+    void evaluateInto(StreamOperation<OUT> sink) {
+        linkSink(sink);
+        getSource().processStream();
+    }
+
+    /**
+     * @return the size of this stream if it is known without evaluating it
+     */
+    OptionalLong getKnownSize() {
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Links the operation that finally receives the elements, lanes of a
+     * partitioned stream are merged into it.
+     */
+    private void linkSink(StreamOperation<OUT> sink) {
+        StreamOperation<OUT> op = getSource().isConcurrent() ? new MergingStreamOperation<>(sink) : sink;
+        setNext(() -> op);
+    }
+
     @Override
     public Stream<OUT> filter(Predicate<? super OUT> filter) {
         Objects.requireNonNull(filter, "filter");
@@ -97,7 +145,7 @@ abstract class AbstractStreamPart<IN, OUT> implements Stream<OUT>, StreamOperabl
 
                     @Override
                     public StreamCharacteristics modifyCharacteristics(StreamCharacteristics upstreamCharacteristics) {
-                        return combineChecked(upstreamCharacteristics.withDistinct(false), updateChecked);
+                        return combineChecked(upstreamCharacteristics.withNewValues(), updateChecked);
                     }
 
                     @Override
@@ -120,6 +168,200 @@ abstract class AbstractStreamPart<IN, OUT> implements Stream<OUT>, StreamOperabl
         };
     }
 
+    @Override
+    public <R> Stream<R> mapResult(Function<? super OUT, ? extends Result<? extends R>> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new IntermediatePart<>(this) {
+            @Override
+            public StreamOperation<OUT> getStreamOperation() {
+                return new ChainedStreamOperation<>(getNext()) {
+
+                    @Override
+                    public StreamCharacteristics modifyCharacteristics(StreamCharacteristics upstreamCharacteristics) {
+                        return combineChecked(upstreamCharacteristics.withNewValues(), UpdateType.PRESERVE);
+                    }
+
+                    @Override
+                    public void acceptElement(StreamElement<OUT> t) {
+                        if (t.hasExceptions()) {
+                            downstream().acceptElement(t.tryAdapt());
+                            return;
+                        }
+                        Result<? extends R> r;
+                        try {
+                            r = Objects.requireNonNull(mapper.apply(t.getElement()), "mapper returned null");
+                        } catch (Exception e) {
+                            downstream().acceptElement(t.withExceptionAdded(e));
+                            return;
+                        }
+                        if (r.isSuccess())
+                            downstream().acceptElement(StreamElement.of(r.getValue()));
+                        else
+                            downstream().acceptElement(t.withFailureAdded((Result.Failure<?>) r));
+                    }
+                };
+            }
+        };
+    }
+
+    @Override
+    public Stream<OUT> filterResult(Function<? super OUT, Result<Boolean>> filter) {
+        Objects.requireNonNull(filter, "filter");
+        return new IntermediatePart<>(this) {
+            @Override
+            public StreamOperation<OUT> getStreamOperation() {
+                return new ChainedStreamOperation<>(getNext()) {
+
+                    @Override
+                    public StreamCharacteristics modifyCharacteristics(StreamCharacteristics upstreamCharacteristics) {
+                        return combineChecked(upstreamCharacteristics.withUnknownStreamSize(), UpdateType.PRESERVE);
+                    }
+
+                    @Override
+                    public void acceptElement(StreamElement<OUT> t) {
+                        if (t.hasExceptions()) {
+                            downstream().acceptElement(t);
+                            return;
+                        }
+                        Result<Boolean> r;
+                        try {
+                            r = Objects.requireNonNull(filter.apply(t.getElement()), "filter returned null");
+                        } catch (Exception e) {
+                            downstream().acceptElement(t.withExceptionAdded(e));
+                            return;
+                        }
+                        if (!r.isSuccess())
+                            downstream().acceptElement(t.withFailureAdded((Result.Failure<?>) r));
+                        else if (Boolean.TRUE.equals(r.getValue()))
+                            downstream().acceptElement(t);
+                    }
+                };
+            }
+        };
+    }
+
+    @Override
+    public <R> Stream<R> flatMap(Function<? super OUT, ? extends Stream<? extends R>> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return flatMapImpl(mapper::apply, UpdateType.PRESERVE);
+    }
+
+    @Override
+    public <R> Stream<R> flatMapChecked(ThrowingFunction<? super OUT, ? extends Stream<? extends R>> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return flatMapImpl(mapper, UpdateType.SET);
+    }
+
+    private <R> Stream<R> flatMapImpl(ThrowingFunction<? super OUT, ? extends Stream<? extends R>> mapper,
+                                      UpdateType updateChecked) {
+        return new IntermediatePart<>(this) {
+            @Override
+            public StreamOperation<OUT> getStreamOperation() {
+                return new ChainedStreamOperation<>(getNext()) {
+                    /** whether the downstream knows that this is a checked stream */
+                    boolean checked;
+
+                    @Override
+                    public StreamCharacteristics modifyCharacteristics(StreamCharacteristics upstreamCharacteristics) {
+                        StreamCharacteristics characteristics = combineChecked(
+                                upstreamCharacteristics.withUnknownStreamSize().withNewValues(), updateChecked);
+                        checked = characteristics.isChecked();
+                        return characteristics;
+                    }
+
+                    @Override
+                    public void upstreamBecameChecked() {
+                        // told once, whether by the upstream or by a checked inner stream
+                        if (!checked) {
+                            checked = true;
+                            downstream().upstreamBecameChecked();
+                        }
+                    }
+
+                    @Override
+                    public void acceptElement(StreamElement<OUT> t) {
+                        if (t.hasExceptions()) {
+                            downstream().acceptElement(t.tryAdapt());
+                            return;
+                        }
+                        Stream<? extends R> inner;
+                        try {
+                            inner = mapper.apply(t.getElement());
+                        } catch (Exception e) {
+                            downstream().acceptElement(t.withExceptionAdded(e));
+                            return;
+                        }
+                        if (inner == null)
+                            return;
+                        InnerSink<R> sink = new InnerSink<>(downstream(), this::upstreamBecameChecked);
+                        // usage errors like a consumed or foreign stream are not errors of the element
+                        AbstractStreamPart<?, R> innerPart = asPart(inner);
+                        innerPart.linkSink(sink);
+                        try {
+                            innerPart.getSource().processStream();
+                        } catch (RuntimeException e) {
+                            if (e == sink.downstreamFailure)
+                                throw e;
+                            downstream().acceptElement(t.withExceptionAdded(e));
+                        }
+                    }
+                };
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> AbstractStreamPart<?, T> asPart(Stream<? extends T> stream) {
+        // all Stream implementations are parts, and their elements are immutable
+        return (AbstractStreamPart<?, T>) stream;
+    }
+
+    @Override
+    public <U, R> Stream<R> join(Stream<U> other, Function<? super OUT, ?> keyA, Function<? super U, ?> keyB,
+                                 BiFunction<? super OUT, ? super U, ? extends R> combiner) {
+        return join(other, keyA, keyB, combiner, DEFAULT_JOIN_IN_MEMORY_LIMIT);
+    }
+
+    @Override
+    public <U, R> Stream<R> join(Stream<U> other, Function<? super OUT, ?> keyA, Function<? super U, ?> keyB,
+                                 BiFunction<? super OUT, ? super U, ? extends R> combiner, int inMemoryLimit) {
+        return joinImpl(other, keyA, keyB, combiner, false, inMemoryLimit);
+    }
+
+    @Override
+    public <U, R> Stream<R> leftOuterJoin(Stream<U> other, Function<? super OUT, ?> keyA,
+                                          Function<? super U, ?> keyB,
+                                          BiFunction<? super OUT, ? super U, ? extends R> combiner) {
+        return leftOuterJoin(other, keyA, keyB, combiner, DEFAULT_JOIN_IN_MEMORY_LIMIT);
+    }
+
+    @Override
+    public <U, R> Stream<R> leftOuterJoin(Stream<U> other, Function<? super OUT, ?> keyA,
+                                          Function<? super U, ?> keyB,
+                                          BiFunction<? super OUT, ? super U, ? extends R> combiner,
+                                          int inMemoryLimit) {
+        return joinImpl(other, keyA, keyB, combiner, true, inMemoryLimit);
+    }
+
+    private <U, R> Stream<R> joinImpl(Stream<U> other, Function<? super OUT, ?> keyA, Function<? super U, ?> keyB,
+                                      BiFunction<? super OUT, ? super U, ? extends R> combiner, boolean leftOuter,
+                                      int inMemoryLimit) {
+        Objects.requireNonNull(other, "other");
+        Objects.requireNonNull(keyA, "keyA");
+        Objects.requireNonNull(keyB, "keyB");
+        Objects.requireNonNull(combiner, "combiner");
+        if (inMemoryLimit <= 0)
+            throw new IllegalArgumentException("inMemoryLimit must be positive: " + inMemoryLimit);
+        AbstractStreamPart<?, U> otherPart = asPart(other);
+        return new IntermediatePart<>(this) {
+            @Override
+            public StreamOperation<OUT> getStreamOperation() {
+                return new HashJoinOperation<>(getNext(), otherPart, keyA, keyB, combiner, leftOuter, inMemoryLimit,
+                        getSource()::isCancelledFromAnyThread);
+            }
+        };
+    }
+
     @Override
     public Stream<OUT> distinct() {
         return new IntermediatePart<>(this) {
@@ -128,22 +370,22 @@ abstract class AbstractStreamPart<IN, OUT> implements Stream<OUT>, StreamOperabl
                 return new ChainedStreamOperation<>(getNext()) {
 
                     boolean alreadyDistinct;
+                    boolean sorted;
+                    StreamElement<OUT> previous;
                     HashSet<StreamElement<OUT>> set;
-                    ArrayList<StreamElement<OUT>> allDistinct;
 
                     @Override
                     public void start(StreamCharacteristics upstreamCharacteristics) {
                         super.start(upstreamCharacteristics);
                         alreadyDistinct = upstreamCharacteristics.isDistinct();
-                        if (!alreadyDistinct) {
+                        sorted = upstreamCharacteristics.isSorted();
+                        if (!alreadyDistinct && !sorted)
                             set = new HashSet<>();
-                            allDistinct = new ArrayList<>();
-                        }
                     }
 
                     @Override
                     public StreamCharacteristics modifyCharacteristics(StreamCharacteristics upstreamCharacteristics) {
-                        return upstreamCharacteristics.withUnknownStreamSize();
+                        return upstreamCharacteristics.withUnknownStreamSize().withDistinct(true);
                     }
 
                     @Override
@@ -152,93 +394,307 @@ abstract class AbstractStreamPart<IN, OUT> implements Stream<OUT>, StreamOperabl
                             downstream().acceptElement(t);
                             return;
                         }
-                        if (t.hasExceptions())
-                            allDistinct.add(t);
-                        else if (set.add(t))
-                            allDistinct.add(t);
-                    }
-
-                    @Override
-                    public void finish() {
-                        if (!alreadyDistinct) {
-                            Iterator<StreamElement<OUT>> it = allDistinct.iterator();
-                            while (it.hasNext() && downstream().needsMoreElements())
-                                downstream().acceptElement(it.next());
+                        if (sorted && !t.hasExceptions() && !hasConsistentOrdering(t)) {
+                            // equal elements may be apart, only the previous one is known to be distinct
+                            sorted = false;
+                            set = new HashSet<>();
+                            if (previous != null)
+                                set.add(previous);
                         }
-                        super.finish();
+                        if (sorted) {
+                            // equal elements are adjacent, errors do not interrupt a run of them
+                            if (t.hasExceptions() || !t.equals(previous)) {
+                                if (!t.hasExceptions())
+                                    previous = t;
+                                downstream().acceptElement(t);
+                            }
+                            return;
+                        }
+                        // the first occurrence is passed on at once, nothing is left for finish
+                        if (t.hasExceptions() || set.add(t))
+                            downstream().acceptElement(t);
                     }
                 };
             }
         };
     }
 
+    /**
+     * @return true if the natural ordering of the element is known to be
+     *         consistent with equals, unlike e.g. that of BigDecimal
+     */
+    private static boolean hasConsistentOrdering(StreamElement<?> t) {
+        Object element = t.getElement();
+        return element instanceof Enum || element != null && CONSISTENTLY_ORDERED.contains(element.getClass());
+    }
+
     @Override
-    public long count() {
-        return evaluate(new TerminalStreamOperation<>() {
+    public <R> Stream<R> scan(R identity, BiFunction<? super R, ? super OUT, ? extends R> accumulator) {
+        Objects.requireNonNull(accumulator, "accumulator");
+        return new IntermediatePart<>(this) {
+            @Override
+            public StreamOperation<OUT> getStreamOperation() {
+                return new ChainedStreamOperation<>(getNext()) {
 
-            long count;
-            boolean shortCircuit;
+                    R current;
 
-            @Override
-            public void start(StreamCharacteristics upstreamCharacteristics) {
-                TerminalStreamOperation.super.start(upstreamCharacteristics);
-                count = 0L;
-                var size = upstreamCharacteristics.getStreamSize();
-                shortCircuit = size.isPresent();
-                if (shortCircuit)
-                    count = size.getAsLong();
+                    @Override
+                    public void start(StreamCharacteristics upstreamCharacteristics) {
+                        current = identity;
+                        super.start(upstreamCharacteristics);
+                    }
+
+                    @Override
+                    public StreamCharacteristics modifyCharacteristics(StreamCharacteristics upstreamCharacteristics) {
+                        return upstreamCharacteristics.withNewValues();
+                    }
+
+                    @Override
+                    public void acceptElement(StreamElement<OUT> t) {
+                        if (t.hasExceptions()) {
+                            downstream().acceptElement(t.tryAdapt());
+                            return;
+                        }
+                        try {
+                            current = accumulator.apply(current, t.getElement());
+                        } catch (Exception e) {
+                            downstream().acceptElement(t.withExceptionAdded(e));
+                            return;
+                        }
+                        downstream().acceptElement(StreamElement.of(current));
+                    }
+                };
             }
+        };
+    }
 
+    @Override
+    public Stream<RunningSnapshot<OUT>> runningReduce(BinaryOperator<OUT> accumulator, int emitEvery) {
+        Objects.requireNonNull(accumulator, "accumulator");
+        if (emitEvery <= 0)
+            throw new IllegalArgumentException("emitEvery must be positive: " + emitEvery);
+        return new IntermediatePart<>(this) {
             @Override
-            public boolean needsMoreElements() {
-                return !shortCircuit;
+            public StreamOperation<OUT> getStreamOperation() {
+                return RunningReduceOperation.everyElements(getNext(), accumulator, emitEvery);
             }
+        };
+    }
 
+    @Override
+    public Stream<RunningSnapshot<OUT>> runningReduce(BinaryOperator<OUT> accumulator, Duration emitEvery) {
+        Objects.requireNonNull(accumulator, "accumulator");
+        Objects.requireNonNull(emitEvery, "emitEvery");
+        if (emitEvery.isNegative() || emitEvery.isZero())
+            throw new IllegalArgumentException("emitEvery must be positive: " + emitEvery);
+        long nanos = saturatedNanos(emitEvery);
+        return new IntermediatePart<>(this) {
             @Override
-            public void acceptElement(StreamElement<OUT> t) {
-                checkElementForExceptions(t);
-                count++;
+            public StreamOperation<OUT> getStreamOperation() {
+                return RunningReduceOperation.everyNanos(getNext(), accumulator, nanos, System::nanoTime);
             }
+        };
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
 
+    @Override
+    public Stream<OUT> partitionBy(Function<? super OUT, ?> keyFn, int lanes) {
+        Objects.requireNonNull(keyFn, "keyFn");
+        if (lanes <= 0)
+            throw new IllegalArgumentException("lanes must be positive: " + lanes);
+        getSource().setConcurrent();
+        return new IntermediatePart<>(this) {
             @Override
-            public Long get() {
-                return count;
+            public StreamOperation<OUT> getStreamOperation() {
+                return new PartitionedStreamOperation<>(getNext(), keyFn, lanes);
             }
-        });
+        };
     }
 
     @Override
-    public Optional<OUT> findFirst() {
-        return evaluate(new TerminalStreamOperation<>() {
+    public Stream<OUT> distinctBy(Function<? super OUT, ?> keyFn) {
+        return distinctBy(keyFn, new DistinctMetrics());
+    }
 
-            Optional<OUT> value = Optional.empty();
+    @Override
+    public Stream<OUT> distinctBy(Function<? super OUT, ?> keyFn, DistinctMetrics metrics) {
+        Objects.requireNonNull(keyFn, "keyFn");
+        Objects.requireNonNull(metrics, "metrics");
+        return distinctByImpl(keyFn, () -> SeenKeys.unbounded(metrics), true);
+    }
 
-            @Override
-            public boolean needsMoreElements() {
-                return value.isEmpty();
-            }
+    @Override
+    public Stream<OUT> distinctBy(Function<? super OUT, ?> keyFn, Duration ttl) {
+        return distinctBy(keyFn, ttl, new DistinctMetrics());
+    }
 
-            @Override
-            public void acceptElement(StreamElement<OUT> t) {
-                if (value.isPresent())
-                    throw new IllegalStateException("findFirst() cannot accept more than one element");
-                checkElementForExceptions(t);
-                value = Optional.of(t.getElement());
-            }
+    @Override
+    public Stream<OUT> distinctBy(Function<? super OUT, ?> keyFn, Duration ttl, DistinctMetrics metrics) {
+        Objects.requireNonNull(keyFn, "keyFn");
+        Objects.requireNonNull(ttl, "ttl");
+        Objects.requireNonNull(metrics, "metrics");
+        if (ttl.isNegative() || ttl.isZero())
+            throw new IllegalArgumentException("ttl must be positive: " + ttl);
+        return distinctByImpl(keyFn, () -> SeenKeys.expiring(ttl, metrics, System::nanoTime), false);
+    }
+
+    @Override
+    public Stream<OUT> distinctBy(Function<? super OUT, ?> keyFn, int maxKeys) {
+        return distinctBy(keyFn, maxKeys, new DistinctMetrics());
+    }
 
+    @Override
+    public Stream<OUT> distinctBy(Function<? super OUT, ?> keyFn, int maxKeys, DistinctMetrics metrics) {
+        Objects.requireNonNull(keyFn, "keyFn");
+        Objects.requireNonNull(metrics, "metrics");
+        if (maxKeys <= 0)
+            throw new IllegalArgumentException("maxKeys must be positive: " + maxKeys);
+        return distinctByImpl(keyFn, () -> SeenKeys.leastRecentlySeen(maxKeys, metrics), false);
+    }
+
+    private Stream<OUT> distinctByImpl(Function<? super OUT, ?> keyFn, Supplier<SeenKeys> seenKeysFactory,
+                                       boolean exact) {
+        return new IntermediatePart<>(this) {
             @Override
-            public Optional<OUT> get() {
-                return value;
+            public StreamOperation<OUT> getStreamOperation() {
+                return new ChainedStreamOperation<>(getNext()) {
+
+                    SeenKeys seenKeys;
+
+                    @Override
+                    public void start(StreamCharacteristics upstreamCharacteristics) {
+                        super.start(upstreamCharacteristics);
+                        seenKeys = seenKeysFactory.get();
+                    }
+
+                    @Override
+                    public StreamCharacteristics modifyCharacteristics(StreamCharacteristics upstreamCharacteristics) {
+                        StreamCharacteristics characteristics = upstreamCharacteristics.withUnknownStreamSize();
+                        return exact ? characteristics.withDistinct(true) : characteristics;
+                    }
+
+                    @Override
+                    public void acceptElement(StreamElement<OUT> t) {
+                        if (t.hasExceptions()) {
+                            downstream().acceptElement(t);
+                            return;
+                        }
+                        Object key;
+                        try {
+                            key = keyFn.apply(t.getElement());
+                        } catch (Exception e) {
+                            downstream().acceptElement(t.withExceptionAdded(e));
+                            return;
+                        }
+                        if (seenKeys.add(key))
+                            downstream().acceptElement(t);
+                    }
+
+                    @Override
+                    public void finish() {
+                        release();
+                        super.finish();
+                    }
+
+                    @Override
+                    public void abort() {
+                        release();
+                        super.abort();
+                    }
+
+                    private void release() {
+                        if (seenKeys != null) {
+                            seenKeys.release();
+                            seenKeys = null;
+                        }
+                    }
+                };
             }
-        });
+        };
+    }
+
+    @Override
+    public long count() {
+        return evaluate(Terminal.count());
+    }
+
+    @Override
+    public Optional<OUT> findFirst() {
+        return evaluate(Terminal.findFirst());
     }
 
     @Override
     public Optional<OUT> reduce(BinaryOperator<OUT> accumulator) {
-        Objects.requireNonNull(accumulator, "accumulator");
+        return evaluate(Terminal.reduce(accumulator));
+    }
+
+    @Override
+    public Optional<OUT> min(Comparator<? super OUT> comparator) {
+        return evaluate(Terminal.min(comparator));
+    }
+
+    @Override
+    public Optional<OUT> max(Comparator<? super OUT> comparator) {
+        return evaluate(Terminal.max(comparator));
+    }
+
+    @Override
+    public List<OUT> topK(int k, Comparator<? super OUT> comparator) {
+        return evaluate(Terminal.topK(k, comparator));
+    }
+
+    @Override
+    public List<OUT> bottomK(int k, Comparator<? super OUT> comparator) {
+        return evaluate(Terminal.bottomK(k, comparator));
+    }
+
+    @Override
+    public OptionalDouble quantile(double p, ToDoubleFunction<? super OUT> valueFn) {
+        return evaluate(Terminal.quantile(p, valueFn));
+    }
+
+    @Override
+    public Collection<OUT> toCollection(Supplier<? extends Collection<OUT>> collectionGenerator) {
+        return evaluate(Terminal.toCollection(collectionGenerator));
+    }
+
+    @Override
+    public <R> PartialResult<R> evaluate(Terminal<? super OUT, R> terminal, CancellationToken token) {
+        Objects.requireNonNull(terminal, "terminal");
+        Objects.requireNonNull(token, "token");
+        TerminalStreamOperation<OUT, R> operation = Terminal.newOperation(terminal);
+        // a consumed stream must fail before its source gets the token
+        linkSink(operation);
+        SourcePart<?> source = getSource();
+        source.setCancellationToken(token);
+        source.processStream();
+        return new PartialResult<>(operation.get(), source.getProcessedElements(), !source.wasCancelled());
+    }
+
+    @Override
+    public CachedStream<OUT> cache() {
         return evaluate(new TerminalStreamOperation<>() {
-            boolean oneSeen = false;
-            OUT current;
+
+            final CachedStream.Builder<OUT> builder = CachedStream.builder();
+            StreamCharacteristics characteristics;
+
+            @Override
+            public void start(StreamCharacteristics upstreamCharacteristics) {
+                // error elements are kept, so checked streams are fine as well
+                characteristics = upstreamCharacteristics;
+            }
+
+            @Override
+            public void upstreamBecameChecked() {
+                characteristics = characteristics.withChecked(true);
+            }
 
             @Override
             public boolean needsMoreElements() {
@@ -247,57 +703,78 @@ abstract class AbstractStreamPart<IN, OUT> implements Stream<OUT>, StreamOperabl
 
             @Override
             public void acceptElement(StreamElement<OUT> t) {
-                checkElementForExceptions(t);
-                if (oneSeen) {
-                    current = accumulator.apply(current, t.getElement());
-                } else {
-                    current = t.getElement();
-                    oneSeen = true;
-                }
+                builder.add(t);
             }
 
             @Override
-            public Optional<OUT> get() {
-                if (oneSeen)
-                    return Optional.of(current);
-                return Optional.empty();
+            public CachedStream<OUT> get() {
+                return builder.build(characteristics);
             }
         });
     }
 
     @Override
-    public Collection<OUT> toCollection(Supplier<? extends Collection<OUT>> collectionGenerator) {
-        Objects.requireNonNull(collectionGenerator, "collectionGenerator");
+    public TerminalResults evaluateAll(List<? extends Terminal<? super OUT, ?>> terminals) {
+        Objects.requireNonNull(terminals, "terminals");
+        Map<Terminal<?, ?>, TerminalStreamOperation<OUT, ?>> operations = new LinkedHashMap<>();
+        for (Terminal<? super OUT, ?> terminal : terminals) {
+            Objects.requireNonNull(terminal, "terminal");
+            if (operations.put(terminal, Terminal.newOperation(terminal)) != null)
+                throw new IllegalArgumentException("Terminal operation was passed more than once");
+        }
         return evaluate(new TerminalStreamOperation<>() {
 
-            Collection<OUT> collection;
-
             @Override
             public void start(StreamCharacteristics upstreamCharacteristics) {
                 TerminalStreamOperation.super.start(upstreamCharacteristics);
-                collection = Objects.requireNonNull(collectionGenerator.get(), "collectionGenerator returned null");
+                for (TerminalStreamOperation<OUT, ?> operation : operations.values())
+                    operation.start(upstreamCharacteristics);
             }
 
             @Override
             public boolean needsMoreElements() {
-                return true;
+                for (TerminalStreamOperation<OUT, ?> operation : operations.values()) {
+                    if (operation.needsMoreElements())
+                        return true;
+                }
+                return false;
             }
 
             @Override
             public void acceptElement(StreamElement<OUT> t) {
-                checkElementForExceptions(t);
-                collection.add(t.getElement());
+                for (TerminalStreamOperation<OUT, ?> operation : operations.values()) {
+                    if (operation.needsMoreElements())
+                        operation.acceptElement(t);
+                }
+            }
+
+            @Override
+            public void finish() {
+                for (TerminalStreamOperation<OUT, ?> operation : operations.values())
+                    operation.finish();
             }
 
             @Override
-            public Collection<OUT> get() {
-                return collection;
+            public TerminalResults get() {
+                Map<Terminal<?, ?>, Object> results = new HashMap<>();
+                operations.forEach((terminal, operation) -> results.put(terminal, operation.get()));
+                return new TerminalResults(results);
             }
         });
     }
 
     @Override
     public Stream<OUT> onErrorFilter() {
+        return onErrorFilterImpl(null);
+    }
+
+    @Override
+    public Stream<OUT> onErrorFilter(LongAdder errorCount) {
+        Objects.requireNonNull(errorCount, "errorCount");
+        return onErrorFilterImpl(errorCount);
+    }
+
+    private Stream<OUT> onErrorFilterImpl(LongAdder errorCount) {
         return new IntermediatePart<>(this) {
             @Override
             public StreamOperation<OUT> getStreamOperation() {
@@ -305,13 +782,20 @@ abstract class AbstractStreamPart<IN, OUT> implements Stream<OUT>, StreamOperabl
 
                     @Override
                     public StreamCharacteristics modifyCharacteristics(StreamCharacteristics upstreamCharacteristics) {
-                        return upstreamCharacteristics.withUnknownStreamSize();
+                        return combineChecked(upstreamCharacteristics.withUnknownStreamSize(), UpdateType.CLEAR);
+                    }
+
+                    @Override
+                    public void upstreamBecameChecked() {
+                        // the errors are handled here
                     }
 
                     @Override
                     public void acceptElement(StreamElement<OUT> t) {
                         if (!t.hasExceptions())
                             downstream().acceptElement(t);
+                        else if (errorCount != null)
+                            errorCount.increment();
                     }
                 };
             }
@@ -339,7 +823,12 @@ abstract class AbstractStreamPart<IN, OUT> implements Stream<OUT>, StreamOperabl
 
                     @Override
                     public StreamCharacteristics modifyCharacteristics(StreamCharacteristics upstreamCharacteristics) {
-                        return combineChecked(upstreamCharacteristics.withDistinct(false), updateChecked);
+                        return combineChecked(upstreamCharacteristics.withNewValues(), updateChecked);
+                    }
+
+                    @Override
+                    public void upstreamBecameChecked() {
+                        // the errors are handled here
                     }
 
                     @Override
@@ -366,10 +855,63 @@ abstract class AbstractStreamPart<IN, OUT> implements Stream<OUT>, StreamOperabl
         return characteristics.withChecked(updateType.getOperation().apply(characteristics.isChecked()));
     }
 
-    private static void checkElementForExceptions(StreamElement<?> e) {
-        if (e.hasExceptions())
-            throw new ErrorsAtTerminalOperationException(
-                    "Terminal operation encountered some Exceptions: " + e.getExceptions());
+    /**
+     * Forwards the elements of an inner stream of flatMap to the downstream,
+     * which keeps running across all inner streams, and remembers failures of
+     * the downstream, so they are not mistaken for failures of the inner source.
+     */
+    private static final class InnerSink<R> implements StreamOperation<R> {
+
+        private final StreamOperation<R> downstream;
+        private final Runnable becameChecked;
+        RuntimeException downstreamFailure;
+
+        InnerSink(StreamOperation<R> downstream, Runnable becameChecked) {
+            this.downstream = downstream;
+            this.becameChecked = becameChecked;
+        }
+
+        @Override
+        public void start(StreamCharacteristics upstreamCharacteristics) {
+            // the downstream is already running
+            if (upstreamCharacteristics.isChecked())
+                upstreamBecameChecked();
+        }
+
+        @Override
+        public void upstreamBecameChecked() {
+            try {
+                becameChecked.run();
+            } catch (RuntimeException e) {
+                downstreamFailure = e;
+                throw e;
+            }
+        }
+
+        @Override
+        public void acceptElement(StreamElement<R> element) {
+            try {
+                downstream.acceptElement(element);
+            } catch (RuntimeException e) {
+                downstreamFailure = e;
+                throw e;
+            }
+        }
+
+        @Override
+        public void finish() {
+            // the downstream is finished by the outer stream
+        }
+
+        @Override
+        public void abort() {
+            // the downstream is aborted by the outer stream
+        }
+
+        @Override
+        public boolean needsMoreElements() {
+            return downstream.needsMoreElements();
+        }
     }
 
     /**
@@ -0,0 +1,135 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+
+/**
+ * Die zwischengespeicherten Elemente eines Streams, einschließlich der
+ * fehlerhaften. Aus einer Instanz können beliebig viele neue Streams erzeugt
+ * werden, die die Elemente erneut durchlaufen, ohne sie zu kopieren. Die
+ * Instanz ist unveränderlich und kann von mehreren Threads gleichzeitig genutzt
+ * werden.
+ *
+ * @param <T> der Typ der Elemente
+ * @see Stream#cache()
+ */
+public final class CachedStream<T> {
+
+    static final int CHUNK_SIZE = 1024;
+
+    private final List<Chunk> chunks;
+    private final long size;
+    private final long errorCount;
+    private final StreamCharacteristics characteristics;
+
+    CachedStream(List<Chunk> chunks, long size, long errorCount,
+                 StreamCharacteristics characteristics) {
+        this.chunks = chunks;
+        this.size = size;
+        this.errorCount = errorCount;
+        this.characteristics = characteristics.withStreamSize(OptionalLong.of(size));
+    }
+
+    /**
+     * Erzeugt einen neuen Stream mit den zwischengespeicherten Elementen.
+     *
+     * @implSpec die Größe des erzeugten Streams ist bekannt, ebenso wie alle
+     *           anderen Eigenschaften des ursprünglichen Streams, und davon
+     *           abhängige Operationen nutzten diese Information zur Optimierung
+     */
+    public Stream<T> stream() {
+        return new SourcePart<>(new ReplayIterator(), characteristics);
+    }
+
+    /**
+     * @return die Anzahl aller Elemente, einschließlich der fehlerhaften
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return die Anzahl der fehlerhaften Elemente
+     */
+    public long errorCount() {
+        return errorCount;
+    }
+
+    static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * The values and the errors of up to {@link #CHUNK_SIZE} elements in
+     * parallel arrays, so that no {@link StreamElement} is kept per element.
+     */
+    static final class Chunk {
+
+        final Object[] values = new Object[CHUNK_SIZE];
+        /** null as long as the chunk holds no error element */
+        List<?>[] errors;
+    }
+
+    static final class Builder<T> {
+
+        private final List<Chunk> chunks = new ArrayList<>();
+        private Chunk chunk;
+        private int chunkFill = CHUNK_SIZE;
+        private long size;
+        private long errorCount;
+
+        void add(StreamElement<T> element) {
+            if (chunkFill == CHUNK_SIZE) {
+                chunk = new Chunk();
+                chunks.add(chunk);
+                chunkFill = 0;
+            }
+            if (element.hasExceptions()) {
+                if (chunk.errors == null)
+                    chunk.errors = new List<?>[CHUNK_SIZE];
+                chunk.errors[chunkFill] = element.getErrors();
+                errorCount++;
+            } else {
+                chunk.values[chunkFill] = element.getElement();
+            }
+            chunkFill++;
+            size++;
+        }
+
+        CachedStream<T> build(StreamCharacteristics characteristics) {
+            return new CachedStream<>(List.copyOf(chunks), size, errorCount, characteristics);
+        }
+    }
+
+    private final class ReplayIterator implements StreamIterator<T> {
+
+        private long index;
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public StreamElement<T> next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            Chunk chunk = chunks.get((int) (index / CHUNK_SIZE));
+            int offset = (int) (index % CHUNK_SIZE);
+            index++;
+            if (chunk.errors != null && chunk.errors[offset] != null) {
+                @SuppressWarnings("unchecked")
+                List<Object> errors = (List<Object>) chunk.errors[offset];
+                return StreamElement.ofErrors(errors);
+            }
+            @SuppressWarnings("unchecked")
+            T value = (T) chunk.values[offset];
+            return StreamElement.of(value);
+        }
+
+        @Override
+        public OptionalLong getSize() {
+            return OptionalLong.of(size - index);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Ermöglicht es, die Auswertung eines Streams mit
+ * {@link Stream#evaluate(Terminal, CancellationToken)} vorzeitig zu beenden,
+ * entweder durch einen Aufruf von {@link #cancel()} aus einem beliebigen Thread
+ * oder durch Ablauf einer Frist. Ein Token kann für mehrere Auswertungen
+ * verwendet werden und bleibt abgebrochen, sobald es einmal abgebrochen wurde.
+ */
+public final class CancellationToken {
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private final long deadlineNanos;
+    private volatile boolean cancelled;
+
+    /**
+     * Erzeugt ein Token ohne Frist, das nur durch {@link #cancel()} abgebrochen
+     * wird.
+     */
+    public CancellationToken() {
+        this.deadlineNanos = NO_DEADLINE;
+    }
+
+    private CancellationToken(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Erzeugt ein Token, das nach Ablauf von timeout ab jetzt als abgebrochen
+     * gilt, zusätzlich kann es mit {@link #cancel()} vorher abgebrochen werden.
+     *
+     * @throws NullPointerException     falls timeout null ist
+     * @throws IllegalArgumentException falls timeout negativ ist
+     */
+    public static CancellationToken withDeadline(Duration timeout) {
+        Objects.requireNonNull(timeout, "timeout");
+        if (timeout.isNegative())
+            throw new IllegalArgumentException("timeout must not be negative: " + timeout);
+        long nanos;
+        try {
+            nanos = timeout.toNanos();
+        } catch (ArithmeticException e) {
+            return new CancellationToken();
+        }
+        return new CancellationToken(System.nanoTime() + nanos);
+    }
+
+    /**
+     * Bricht alle Auswertungen mit diesem Token ab.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return true, falls {@link #cancel()} aufgerufen wurde oder die Frist
+     *         abgelaufen ist
+     */
+    public boolean isCancelled() {
+        return cancelled || hasDeadline() && isDeadlinePassed(System.nanoTime());
+    }
+
+    /**
+     * @return true if {@link #cancel()} was called or a passed deadline was
+     *         noticed before, without reading the clock
+     */
+    boolean isCancelledExplicitly() {
+        return cancelled;
+    }
+
+    boolean hasDeadline() {
+        return deadlineNanos != NO_DEADLINE;
+    }
+
+    boolean isDeadlinePassed(long nowNanos) {
+        if (nowNanos - deadlineNanos < 0)
+            return false;
+        cancelled = true;
+        return true;
+    }
+}
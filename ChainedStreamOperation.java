@@ -22,6 +22,11 @@ abstract class ChainedStreamOperation<T, R> implements StreamOperation<T> {
         return upstreamCharacteristics;
     }
 
+    @Override
+    public void upstreamBecameChecked() {
+        downstream().upstreamBecameChecked();
+    }
+
     @Override
     public boolean needsMoreElements() {
         return downstream().needsMoreElements();
@@ -32,6 +37,11 @@ abstract class ChainedStreamOperation<T, R> implements StreamOperation<T> {
         downstream().finish();
     }
 
+    @Override
+    public void abort() {
+        downstream().abort();
+    }
+
     StreamOperation<R> downstream() {
         return downstream;
     }
@@ -0,0 +1,42 @@
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Zähler für {@link Stream#distinctBy(java.util.function.Function, DistinctMetrics)},
+ * {@link Stream#distinctBy(java.util.function.Function, int, DistinctMetrics)}
+ * und {@link Stream#distinctBy(java.util.function.Function, java.time.Duration, DistinctMetrics)}.
+ * Eine Instanz kann von mehreren Streams bzw. Threads gleichzeitig genutzt
+ * werden, die Werte summieren sich dann.
+ */
+public final class DistinctMetrics {
+
+    private final LongAdder evictedKeys = new LongAdder();
+    private final LongAdder retainedKeys = new LongAdder();
+
+    /**
+     * @return die Anzahl der Schlüssel, die bisher wieder vergessen wurden
+     */
+    public long getEvictedKeys() {
+        return evictedKeys.sum();
+    }
+
+    /**
+     * @return die Anzahl der Schlüssel, die gerade gemerkt werden; mit dem Ende
+     *         eines Streams werden dessen Schlüssel freigegeben
+     */
+    public long getRetainedKeys() {
+        return retainedKeys.sum();
+    }
+
+    void retained() {
+        retainedKeys.increment();
+    }
+
+    void released(long keys) {
+        retainedKeys.add(-keys);
+    }
+
+    void evicted() {
+        retainedKeys.decrement();
+        evictedKeys.increment();
+    }
+}
@@ -0,0 +1,494 @@
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wertet eine {@link RemotePipeline} verteilt auf mehreren
+ * {@link DistributedWorker}-Prozessen aus. Die Quelle wird dazu nach und nach
+ * in Teile zerlegt, die zusammen mit der Pipeline an die Worker geschickt
+ * werden. Die Ergebnisse werden entweder in der Reihenfolge der Quelle als
+ * Stream zurückgegeben, auf dem lokal beliebige weitere Stream-Operationen
+ * angewendet werden können, oder die Worker werten bereits eine
+ * {@link RemoteTerminal} aus, deren Teilergebnisse hier zusammengeführt werden.
+ * <p>
+ * Fehlerhafte Elemente bleiben dabei fehlerhaft, ihre Exceptions werden durch
+ * {@link RemoteStreamException}s ersetzt. Terminale Stream-Operationen werfen
+ * daher wie gewohnt eine {@link ErrorsAtTerminalOperationException}. Kann ein
+ * Teil der Quelle nicht ausgewertet werden, etwa weil ein Worker nicht
+ * erreichbar ist, so erscheint dafür ein einzelnes fehlerhaftes Element.
+ */
+public final class DistributedRunner implements AutoCloseable {
+
+    static final int BATCH_SIZE = 1024;
+    /** the workers close connections idle for longer than twice this */
+    private static final long MAX_IDLE_NANOS = DistributedWorker.TASK_TIMEOUT_MILLIS / 2 * 1_000_000L;
+
+    private final List<InetSocketAddress> workers;
+    private final List<Process> processes;
+    private final ObjectInputFilter filter;
+    private final int timeoutMillis;
+
+    /**
+     * Erzeugt einen Runner für bereits laufende Worker, der nur die Klassen der
+     * Bibliothek und gängige Klassen des JDK aus java.lang, java.util, java.time
+     * und java.math annimmt; der Timeout beträgt 5 Minuten.
+     *
+     * @throws NullPointerException     falls workers oder eines der Elemente null
+     *                                  ist
+     * @throws IllegalArgumentException falls workers leer ist
+     * @see #DistributedRunner(List, String, Duration)
+     */
+    public DistributedRunner(List<InetSocketAddress> workers) {
+        this(workers, "", RemoteSerialization.DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Erzeugt einen Runner für bereits laufende Worker.
+     *
+     * @param allowedClasses weitere Klassen, die deserialisiert werden dürfen,
+     *                       etwa die der Elemente und die Klassen, in denen die
+     *                       Funktionen der Pipeline definiert sind, in der Syntax
+     *                       von {@link ObjectInputFilter.Config#createFilter(String)},
+     *                       z.B. "com.example.**"; Lambdas sind Instanzen von
+     *                       Klassen namens "Klasse$$Lambda...", für Klassen ohne
+     *                       Package also etwa "Main*". Die Worker müssen mit
+     *                       denselben Klassen gestartet sein
+     * @param timeout        die maximale Wartezeit für den Verbindungsaufbau und
+     *                       für die Antwort eines Workers auf einen Teil der
+     *                       Quelle, danach wird der Teil zu einem fehlerhaften
+     *                       Element
+     * @throws NullPointerException     falls eines der Argumente oder eines der
+     *                                  Elemente von workers null ist
+     * @throws IllegalArgumentException falls workers leer ist, allowedClasses
+     *                                  ungültig oder timeout nicht positiv ist
+     */
+    public DistributedRunner(List<InetSocketAddress> workers, String allowedClasses, Duration timeout) {
+        this(List.copyOf(workers), List.of(), allowedClasses, timeout);
+    }
+
+    private DistributedRunner(List<InetSocketAddress> workers, List<Process> processes, String allowedClasses,
+                              Duration timeout) {
+        Objects.requireNonNull(allowedClasses, "allowedClasses");
+        Objects.requireNonNull(timeout, "timeout");
+        if (workers.isEmpty())
+            throw new IllegalArgumentException("At least one worker is required");
+        if (timeout.isNegative() || timeout.isZero())
+            throw new IllegalArgumentException("timeout must be positive: " + timeout);
+        this.workers = workers;
+        this.processes = processes;
+        this.filter = RemoteSerialization.filter(allowedClasses);
+        this.timeoutMillis = RemoteSerialization.timeoutMillis(timeout);
+    }
+
+    /**
+     * Startet count Worker-Prozesse auf diesem Rechner mit dem Classpath dieser
+     * JVM, die nur die Klassen der Bibliothek und gängige Klassen des JDK
+     * annehmen. Die Prozesse werden mit {@link #close()} beendet.
+     *
+     * @throws IllegalArgumentException falls count nicht positiv ist
+     * @throws UncheckedIOException     falls ein Prozess nicht gestartet werden
+     *                                  kann
+     * @see #launchLocalWorkers(int, String, Duration)
+     */
+    public static DistributedRunner launchLocalWorkers(int count) {
+        return launchLocalWorkers(count, "", RemoteSerialization.DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Startet count Worker-Prozesse auf diesem Rechner mit dem Classpath dieser
+     * JVM. Die Prozesse werden mit {@link #close()} beendet.
+     *
+     * @param allowedClasses siehe {@link #DistributedRunner(List, String, Duration)}
+     * @param timeout        siehe {@link #DistributedRunner(List, String, Duration)}
+     * @throws NullPointerException     falls allowedClasses oder timeout null ist
+     * @throws IllegalArgumentException falls count nicht positiv, allowedClasses
+     *                                  ungültig oder timeout nicht positiv ist
+     * @throws UncheckedIOException     falls ein Prozess nicht gestartet werden
+     *                                  kann
+     */
+    public static DistributedRunner launchLocalWorkers(int count, String allowedClasses, Duration timeout) {
+        if (count <= 0)
+            throw new IllegalArgumentException("count must be positive: " + count);
+        // fails early on a malformed pattern
+        RemoteSerialization.filter(Objects.requireNonNull(allowedClasses, "allowedClasses"));
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        List<Process> processes = new ArrayList<>(count);
+        List<InetSocketAddress> workers = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                        DistributedWorker.class.getName(), "0", allowedClasses)
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start();
+                processes.add(process);
+                workers.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), readPort(process)));
+            }
+        } catch (IOException e) {
+            processes.forEach(Process::destroy);
+            throw new UncheckedIOException(e);
+        }
+        return new DistributedRunner(List.copyOf(workers), List.copyOf(processes), allowedClasses, timeout);
+    }
+
+    private static int readPort(Process process) throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line = reader.readLine();
+        if (line == null || !line.startsWith(DistributedWorker.LISTENING))
+            throw new IOException("Worker did not start: " + line);
+        return Integer.parseInt(line.substring(DistributedWorker.LISTENING.length()));
+    }
+
+    /**
+     * Wendet die Pipeline verteilt auf die Elemente von source an. Die Quelle wird
+     * erst bei Bedarf gelesen und in Teilen von {@value #BATCH_SIZE} Elementen an
+     * die Worker verteilt; gleichzeitig sind höchstens zwei Teile je Worker
+     * unterwegs, über eine Verbindung je Worker. Es liegt also nie die ganze Quelle
+     * im Speicher dieses Prozesses.
+     * Alle Elemente müssen serialisierbar sein, nicht serialisierbare Elemente und
+     * Ergebnisse werden zu fehlerhaften Elementen.
+     *
+     * @param source ein Stream ohne Operationen, etwa aus
+     *               {@link Stream#of(java.util.stream.Stream)}, er wird dabei
+     *               konsumiert
+     * @return einen Stream mit den Ergebnissen in der Reihenfolge der Quelle, der
+     *         genau dann ein "Checked Stream" ist, wenn die Pipeline es am Ende
+     *         wäre
+     * @throws NullPointerException     falls source oder pipeline null ist
+     * @throws IllegalArgumentException falls source bereits Operationen hat
+     */
+    public <T, R> Stream<R> run(Stream<T> source, RemotePipeline<T, R> pipeline) {
+        Objects.requireNonNull(source, "source");
+        Objects.requireNonNull(pipeline, "pipeline");
+        Dispatcher dispatcher = new Dispatcher(SourcePart.consumeSource(source), pipeline, null);
+        return new SourcePart<>(new ResultIterator<>(dispatcher),
+                StreamCharacteristics.regular().withChecked(pipeline.isChecked()));
+    }
+
+    /**
+     * Wendet die Pipeline wie {@link #run(Stream, RemotePipeline)} verteilt an,
+     * die terminale Stream-Operation wird jedoch bereits auf den Workern
+     * ausgewertet. Nur deren Teilergebnisse gelangen zurück und werden hier
+     * zusammengeführt.
+     * <p>
+     * <b>Dies ist eine terminale Stream-Operation.</b>
+     *
+     * @param source   ein Stream ohne Operationen, er wird dabei konsumiert
+     * @param terminal die auszuwertende terminale Stream-Operation
+     * @return das zusammengeführte Ergebnis
+     * @throws NullPointerException               falls source, pipeline oder
+     *                                            terminal null ist
+     * @throws IllegalArgumentException           falls source bereits
+     *                                            Operationen hat
+     * @throws ErrorsAtTerminalOperationException falls irgendein Element fehlerhaft
+     *                                            ist oder ein Teil der Quelle
+     *                                            nicht ausgewertet werden kann
+     * @throws CheckedStreamException             falls die Pipeline am Ende ein
+     *                                            "Checked Stream" wäre
+     */
+    public <T, S, R> R run(Stream<T> source, RemotePipeline<T, S> pipeline, RemoteTerminal<? super S, R> terminal) {
+        Objects.requireNonNull(source, "source");
+        Objects.requireNonNull(pipeline, "pipeline");
+        Objects.requireNonNull(terminal, "terminal");
+        StreamIterator<T> iterator = SourcePart.consumeSource(source);
+        if (pipeline.isChecked()) {
+            iterator.close();
+            throw new CheckedStreamException("Cannot process a checked exception stream with no error handling");
+        }
+        Object merged = null;
+        boolean any = false;
+        try (Dispatcher dispatcher = new Dispatcher(iterator, pipeline, terminal.getWorkerPart())) {
+            Object response;
+            while ((response = dispatcher.nextResponse()) != null) {
+                StreamElement<Object> partial = response instanceof RemoteStreamException
+                        ? RemoteElement.failure((RemoteStreamException) response)
+                        : ((RemoteElement) response).toStreamElement();
+                TerminalStreamOperation.checkElementForExceptions(partial);
+                merged = any ? terminal.combine(merged, partial.getElement()) : partial.getElement();
+                any = true;
+            }
+        }
+        return terminal.finish(any ? merged : terminal.getEmptyPartial());
+    }
+
+    /**
+     * Beendet die mit {@link #launchLocalWorkers(int)} gestarteten Prozesse.
+     */
+    @Override
+    public void close() {
+        processes.forEach(Process::destroy);
+    }
+
+    /**
+     * Sends the source batch by batch to the workers, keeping a bounded number of
+     * batches in flight. The source is only read by the thread asking for the
+     * responses.
+     */
+    private final class Dispatcher implements AutoCloseable {
+
+        private final StreamIterator<?> source;
+        private final RemotePipeline<?, ?> pipeline;
+        private final RemoteTerminal.WorkerPart terminal;
+        private final int maxInFlight = 2 * workers.size();
+        private final Connection[] connections = new Connection[workers.size()];
+        private final ArrayDeque<Future<Object>> inFlight = new ArrayDeque<>();
+        private int batches;
+
+        Dispatcher(StreamIterator<?> source, RemotePipeline<?, ?> pipeline, RemoteTerminal.WorkerPart terminal) {
+            this.source = source;
+            this.pipeline = pipeline;
+            this.terminal = terminal;
+        }
+
+        /**
+         * @return the response for the next batch in source order, that is a list
+         *         of {@link RemoteElement}s, a single one with a partial result or
+         *         a {@link RemoteStreamException}; null once all batches are done
+         */
+        Object nextResponse() {
+            while (inFlight.size() < maxInFlight && source.hasNext()) {
+                ArrayList<RemoteElement> batch = new ArrayList<>(BATCH_SIZE);
+                while (batch.size() < BATCH_SIZE && source.hasNext())
+                    batch.add(RemoteElement.of(source.next()));
+                inFlight.add(connection(batches++ % workers.size()).send(new RemoteTask(batch, pipeline, terminal)));
+            }
+            Future<Object> next = inFlight.poll();
+            if (next == null) {
+                close();
+                return null;
+            }
+            try {
+                return next.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return RemoteStreamException.of(e);
+            } catch (ExecutionException e) {
+                return RemoteStreamException.of(e.getCause());
+            }
+        }
+
+        /**
+         * @return the open connection to the worker, or a new one if the old one
+         *         failed or was idle for so long that the worker may close it
+         */
+        private Connection connection(int worker) {
+            Connection connection = connections[worker];
+            if (connection == null || !connection.isReusable()) {
+                if (connection != null)
+                    connection.retire();
+                connection = connections[worker] = new Connection(workers.get(worker));
+            }
+            return connection;
+        }
+
+        @Override
+        public void close() {
+            try {
+                source.close();
+            } finally {
+                inFlight.forEach(f -> f.cancel(true));
+                inFlight.clear();
+                for (Connection connection : connections) {
+                    if (connection != null)
+                        connection.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * A connection to a worker that is used for all the batches sent to it. A
+     * batch is written while the worker still evaluates the previous one, the
+     * responses are read in the same order.
+     */
+    private final class Connection implements AutoCloseable {
+
+        private final InetSocketAddress worker;
+        private final Socket socket = new Socket();
+        private final ExecutorService writer = newThread("tolerant-stream-writer");
+        private final ExecutorService reader = newThread("tolerant-stream-reader");
+        /** only used by the writer thread */
+        private ObjectOutputStream out;
+        /** only used by the reader thread */
+        private ObjectInputStream in;
+        private volatile boolean broken;
+        /** only used by the dispatching thread */
+        private int sent;
+        private final AtomicInteger received = new AtomicInteger();
+        private volatile long lastResponse = System.nanoTime();
+
+        Connection(InetSocketAddress worker) {
+            this.worker = worker;
+        }
+
+        private ExecutorService newThread(String name) {
+            return Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        /**
+         * @return the response, a {@link RemoteStreamException} if the task or
+         *         its response could not be transferred
+         */
+        Future<Object> send(RemoteTask task) {
+            sent++;
+            Future<?> written = writer.submit(() -> {
+                write(task);
+                return null;
+            });
+            return reader.submit(() -> {
+                try {
+                    return read(written);
+                } finally {
+                    lastResponse = System.nanoTime();
+                    received.incrementAndGet();
+                }
+            });
+        }
+
+        private void write(RemoteTask task) throws IOException {
+            if (broken)
+                throw new IOException("Connection to " + worker + " failed before");
+            try {
+                if (out == null) {
+                    socket.connect(worker, timeoutMillis);
+                    socket.setSoTimeout(timeoutMillis);
+                    out = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                }
+                out.writeObject(task);
+                // the tasks do not refer to each other, and the stream must not keep them
+                out.reset();
+                out.flush();
+            } catch (IOException | RuntimeException e) {
+                broken = true;
+                throw e;
+            }
+        }
+
+        private Object read(Future<?> written) {
+            try {
+                written.get();
+                if (broken)
+                    throw new IOException("Connection to " + worker + " failed before");
+                if (in == null)
+                    in = RemoteSerialization.input(socket.getInputStream(), filter);
+                return in.readObject();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return RemoteStreamException.of(e);
+            } catch (ExecutionException e) {
+                return RemoteStreamException.of(e.getCause());
+            } catch (IOException | ClassNotFoundException | RuntimeException e) {
+                // the position in the stream is unknown now
+                broken = true;
+                return RemoteStreamException.of(e);
+            }
+        }
+
+        boolean isReusable() {
+            return !broken && (sent > received.get() || System.nanoTime() - lastResponse < MAX_IDLE_NANOS);
+        }
+
+        /**
+         * Closes the connection once the batches already sent are answered, or
+         * failed because it is broken.
+         */
+        void retire() {
+            writer.shutdown();
+            reader.execute(this::close);
+            reader.shutdown();
+        }
+
+        @Override
+        public void close() {
+            writer.shutdownNow();
+            reader.shutdownNow();
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // nothing left to read
+            }
+        }
+    }
+
+    private static final class ResultIterator<R> implements StreamIterator<R> {
+
+        private final Dispatcher dispatcher;
+        private Iterator<StreamElement<R>> current = List.<StreamElement<R>>of().iterator();
+        private boolean done;
+
+        ResultIterator(Dispatcher dispatcher) {
+            this.dispatcher = dispatcher;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (done)
+                    return false;
+                Object response = dispatcher.nextResponse();
+                if (response == null) {
+                    done = true;
+                    return false;
+                }
+                current = toElements(response).iterator();
+            }
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<StreamElement<R>> toElements(Object response) {
+            if (response instanceof RemoteStreamException)
+                return List.of(RemoteElement.failure((RemoteStreamException) response));
+            List<RemoteElement> remoteElements = (List<RemoteElement>) response;
+            List<StreamElement<R>> elements = new ArrayList<>(remoteElements.size());
+            for (RemoteElement remoteElement : remoteElements)
+                elements.add(remoteElement.toStreamElement());
+            return elements;
+        }
+
+        @Override
+        public StreamElement<R> next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            return current.next();
+        }
+
+        @Override
+        public OptionalLong getSize() {
+            return OptionalLong.empty();
+        }
+
+        @Override
+        public void close() {
+            done = true;
+            dispatcher.close();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Worker-Prozess für einen {@link DistributedRunner}. Nimmt auf einem lokalen
+ * Port Teile der Quelle samt {@link RemotePipeline} entgegen, wertet sie aus
+ * und schickt die Elemente einschließlich der fehlerhaften oder das
+ * Teilergebnis einer {@link RemoteTerminal} zurück. Über eine Verbindung können
+ * nacheinander beliebig viele Teile geschickt werden, die Antworten folgen in
+ * derselben Reihenfolge. Eine Verbindung, über die eine Minute lang kein Teil
+ * kommt, wird geschlossen.
+ * <p>
+ * Aufruf: {@code java DistributedWorker [port [allowedClasses]]}, ohne Port
+ * oder mit 0 wird ein freier Port gewählt. Der gewählte Port wird als erste
+ * Zeile auf der Standardausgabe ausgegeben. Da die empfangenen Objekte
+ * deserialisiert werden, lauscht der Worker nur auf der Loopback-Adresse und
+ * nimmt nur die Klassen der Bibliothek, gängige Klassen des JDK und die mit
+ * allowedClasses erlaubten an, siehe
+ * {@link DistributedRunner#DistributedRunner(java.util.List, String, java.time.Duration)}.
+ */
+public final class DistributedWorker {
+
+    static final String LISTENING = "LISTENING ";
+    static final int TASK_TIMEOUT_MILLIS = 60_000;
+
+    private DistributedWorker() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        ObjectInputFilter filter = RemoteSerialization.filter(args.length > 1 ? args[1] : "");
+        try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            System.out.println(LISTENING + server.getLocalPort());
+            System.out.flush();
+            while (true) {
+                Socket socket = server.accept();
+                Thread handler = new Thread(() -> handle(socket, filter), "tolerant-stream-worker");
+                handler.setDaemon(true);
+                handler.start();
+            }
+        }
+    }
+
+    static void handle(Socket socket, ObjectInputFilter filter) {
+        try (socket;
+                ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                ObjectInputStream in = RemoteSerialization.input(socket.getInputStream(), filter)) {
+            // the coordinator sends the first task right away and reuses the connection
+            socket.setSoTimeout(TASK_TIMEOUT_MILLIS);
+            while (true) {
+                RemoteTask task;
+                try {
+                    task = (RemoteTask) in.readObject();
+                } catch (EOFException | SocketTimeoutException e) {
+                    // the coordinator is done or has given up the connection
+                    return;
+                } catch (IOException | ClassNotFoundException | RuntimeException e) {
+                    // answers this task, the following ones cannot be read anymore
+                    respond(out, RemoteStreamException.of(e));
+                    return;
+                }
+                Object response;
+                try {
+                    response = process(task);
+                } catch (Exception e) {
+                    response = RemoteStreamException.of(e);
+                }
+                respond(out, response);
+            }
+        } catch (IOException e) {
+            // the coordinator reports the missing responses
+        }
+    }
+
+    private static void respond(ObjectOutputStream out, Object response) throws IOException {
+        out.writeObject(response);
+        // the responses do not refer to each other, and the stream must not keep them
+        out.reset();
+        out.flush();
+    }
+
+    /**
+     * @return the resulting elements, or a single element with the partial
+     *         result of the task's terminal
+     */
+    @SuppressWarnings("unchecked")
+    static Object process(RemoteTask task) {
+        RemotePipeline<Object, Object> pipeline = (RemotePipeline<Object, Object>) task.getPipeline();
+        List<StreamElement<Object>> elements = new ArrayList<>(task.getElements().size());
+        for (RemoteElement element : task.getElements())
+            elements.add(element.toStreamElement());
+        Stream<Object> stream = pipeline.applyTo(new SourcePart<>(StreamIterator.ofElements(elements)));
+        if (task.getTerminal() != null)
+            return evaluateTerminal(stream, Terminal.newOperation((Terminal<Object, Object>) task.getTerminal().create()));
+        ArrayList<RemoteElement> results = new ArrayList<>();
+        // a checked pipeline is fine here, its errors are handled by the coordinator
+        AbstractStreamPart.asPart(stream).evaluateInto(new StreamOperation<>() {
+            @Override
+            public void start(StreamCharacteristics upstreamCharacteristics) {
+                // nothing to prepare
+            }
+
+            @Override
+            public void upstreamBecameChecked() {
+                // like a checked pipeline
+            }
+
+            @Override
+            public void acceptElement(StreamElement<Object> element) {
+                results.add(RemoteElement.of(element));
+            }
+
+            @Override
+            public void finish() {
+                // the results are sent back by the caller
+            }
+
+            @Override
+            public boolean needsMoreElements() {
+                return true;
+            }
+        });
+        return results;
+    }
+
+    /**
+     * Stops at the first error element and sends it back instead of the partial
+     * result, so that the coordinator fails exactly like a local terminal would.
+     */
+    private static RemoteElement evaluateTerminal(Stream<Object> stream, TerminalStreamOperation<Object, ?> terminal) {
+        List<StreamElement<Object>> error = new ArrayList<>(1);
+        AbstractStreamPart.asPart(stream).evaluateInto(new StreamOperation<>() {
+            @Override
+            public void start(StreamCharacteristics upstreamCharacteristics) {
+                terminal.start(upstreamCharacteristics);
+            }
+
+            @Override
+            public void acceptElement(StreamElement<Object> element) {
+                if (element.hasExceptions())
+                    error.add(element);
+                else
+                    terminal.acceptElement(element);
+            }
+
+            @Override
+            public void finish() {
+                terminal.finish();
+            }
+
+            @Override
+            public boolean needsMoreElements() {
+                return error.isEmpty() && terminal.needsMoreElements();
+            }
+        });
+        if (!error.isEmpty())
+            return RemoteElement.of(error.get(0));
+        Object partial = terminal.get();
+        // Optional is not serializable, an empty one travels as null
+        if (partial instanceof Optional)
+            partial = ((Optional<?>) partial).orElse(null);
+        return RemoteElement.of(StreamElement.of(partial));
+    }
+}
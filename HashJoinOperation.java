@@ -0,0 +1,247 @@
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Joins the upstream elements with the elements of another stream by building a
+ * hash table from one side and probing it with the other one. The table is
+ * built from the other stream, unless this is an inner join and the upstream is
+ * known to be smaller.
+ */
+final class HashJoinOperation<A, U, R> extends ChainedStreamOperation<A, R> {
+
+    private final AbstractStreamPart<?, U> other;
+    private final Function<? super A, ?> keyA;
+    private final Function<? super U, ?> keyB;
+    private final BiFunction<? super A, ? super U, ? extends R> combiner;
+    private final boolean leftOuter;
+    private final int inMemoryLimit;
+    /** checked while this operation reads the other stream on its own */
+    private final BooleanSupplier cancelled;
+
+    private boolean buildFromUpstream;
+    private boolean otherChecked;
+    /** used if the table is built from the upstream */
+    private SpillingHashTable<A, U> upstreamTable;
+    /** used if the table is built from the other stream */
+    private SpillingHashTable<U, A> otherTable;
+
+    HashJoinOperation(StreamOperable<R> downstream, AbstractStreamPart<?, U> other, Function<? super A, ?> keyA,
+                      Function<? super U, ?> keyB, BiFunction<? super A, ? super U, ? extends R> combiner,
+                      boolean leftOuter, int inMemoryLimit, BooleanSupplier cancelled) {
+        super(downstream);
+        this.other = Objects.requireNonNull(other);
+        this.keyA = Objects.requireNonNull(keyA);
+        this.keyB = Objects.requireNonNull(keyB);
+        this.combiner = Objects.requireNonNull(combiner);
+        this.leftOuter = leftOuter;
+        this.inMemoryLimit = inMemoryLimit;
+        this.cancelled = Objects.requireNonNull(cancelled);
+    }
+
+    @Override
+    public void start(StreamCharacteristics upstreamCharacteristics) {
+        OptionalLong upstreamSize = upstreamCharacteristics.getStreamSize();
+        OptionalLong otherSize = other.getKnownSize();
+        buildFromUpstream = !leftOuter && upstreamSize.isPresent() && otherSize.isPresent()
+                && upstreamSize.getAsLong() < otherSize.getAsLong();
+        if (buildFromUpstream) {
+            upstreamTable = new SpillingHashTable<>(inMemoryLimit);
+            super.start(upstreamCharacteristics);
+            return;
+        }
+        otherTable = new SpillingHashTable<>(inMemoryLimit);
+        List<StreamElement<R>> buildErrors = new ArrayList<>();
+        other.evaluateInto(new StreamOperation<>() {
+            @Override
+            public void start(StreamCharacteristics otherCharacteristics) {
+                otherChecked = otherCharacteristics.isChecked();
+            }
+
+            @Override
+            public void upstreamBecameChecked() {
+                // the downstream is started only after the build
+                otherChecked = true;
+            }
+
+            @Override
+            public void acceptElement(StreamElement<U> u) {
+                if (u.hasExceptions()) {
+                    buildErrors.add(u.tryAdapt());
+                    return;
+                }
+                Object key;
+                try {
+                    key = keyB.apply(u.getElement());
+                } catch (Exception e) {
+                    buildErrors.add(u.withExceptionAdded(e));
+                    return;
+                }
+                otherTable.addBuild(key, u.getElement());
+                for (Exception e : otherTable.drainFailures())
+                    buildErrors.add(u.withExceptionAdded(e));
+            }
+
+            @Override
+            public void finish() {
+                // the whole stream is in the table
+            }
+
+            @Override
+            public boolean needsMoreElements() {
+                // a cancelled build leaves an incomplete table, like any partial result
+                return !cancelled.getAsBoolean();
+            }
+        });
+        super.start(upstreamCharacteristics);
+        for (StreamElement<R> error : buildErrors) {
+            if (!downstream().needsMoreElements())
+                break;
+            downstream().acceptElement(error);
+        }
+    }
+
+    @Override
+    StreamCharacteristics modifyCharacteristics(StreamCharacteristics upstreamCharacteristics) {
+        StreamCharacteristics characteristics = upstreamCharacteristics.withUnknownStreamSize().withNewValues();
+        return characteristics.withChecked(characteristics.isChecked() || otherChecked);
+    }
+
+    @Override
+    public void acceptElement(StreamElement<A> a) {
+        if (a.hasExceptions()) {
+            downstream().acceptElement(a.tryAdapt());
+            return;
+        }
+        Object key;
+        try {
+            key = keyA.apply(a.getElement());
+        } catch (Exception e) {
+            downstream().acceptElement(a.withExceptionAdded(e));
+            return;
+        }
+        if (buildFromUpstream) {
+            upstreamTable.addBuild(key, a.getElement());
+            emitFailures(upstreamTable);
+        } else if (otherTable.isSpilled()) {
+            otherTable.addProbe(key, a.getElement());
+            emitFailures(otherTable);
+        } else {
+            joinUpstream(a.getElement(), otherTable.get(key));
+        }
+    }
+
+    @Override
+    public void finish() {
+        try {
+            if (buildFromUpstream)
+                probeWithOther();
+            else if (otherTable.isSpilled())
+                otherTable.joinSpilled(this::joinUpstream, this::needsMoreAfterUpstream);
+        } finally {
+            closeTables();
+        }
+        super.finish();
+    }
+
+    @Override
+    public void abort() {
+        try {
+            closeTables();
+        } finally {
+            super.abort();
+        }
+    }
+
+    private void closeTables() {
+        if (upstreamTable != null)
+            upstreamTable.close();
+        if (otherTable != null)
+            otherTable.close();
+    }
+
+    private void probeWithOther() {
+        other.evaluateInto(new StreamOperation<>() {
+            @Override
+            public void start(StreamCharacteristics otherCharacteristics) {
+                // only sources of known size get here, they are never checked
+            }
+
+            @Override
+            public void acceptElement(StreamElement<U> u) {
+                if (u.hasExceptions()) {
+                    downstream().acceptElement(u.tryAdapt());
+                    return;
+                }
+                Object key;
+                try {
+                    key = keyB.apply(u.getElement());
+                } catch (Exception e) {
+                    downstream().acceptElement(u.withExceptionAdded(e));
+                    return;
+                }
+                if (upstreamTable.isSpilled()) {
+                    upstreamTable.addProbe(key, u.getElement());
+                    emitFailures(upstreamTable);
+                } else {
+                    joinOther(u.getElement(), upstreamTable.get(key));
+                }
+            }
+
+            @Override
+            public void finish() {
+                // spilled partitions are joined afterwards
+            }
+
+            @Override
+            public boolean needsMoreElements() {
+                return needsMoreAfterUpstream();
+            }
+        });
+        if (upstreamTable.isSpilled())
+            upstreamTable.joinSpilled(this::joinOther, this::needsMoreAfterUpstream);
+    }
+
+    private boolean needsMoreAfterUpstream() {
+        return downstream().needsMoreElements() && !cancelled.getAsBoolean();
+    }
+
+    private void joinUpstream(A a, List<U> matches) {
+        if (matches.isEmpty() && leftOuter)
+            emit(a, null);
+        for (U u : matches) {
+            if (!downstream().needsMoreElements())
+                return;
+            emit(a, u);
+        }
+    }
+
+    private void joinOther(U u, List<A> matches) {
+        for (A a : matches) {
+            if (!downstream().needsMoreElements())
+                return;
+            emit(a, u);
+        }
+    }
+
+    private void emit(A a, U u) {
+        R r;
+        try {
+            r = combiner.apply(a, u);
+        } catch (Exception e) {
+            downstream().acceptElement(StreamElement.<R>of(null).withExceptionAdded(e));
+            return;
+        }
+        downstream().acceptElement(StreamElement.of(r));
+    }
+
+    private void emitFailures(SpillingHashTable<?, ?> table) {
+        for (Exception e : table.drainFailures())
+            downstream().acceptElement(StreamElement.<R>of(null).withExceptionAdded(e));
+    }
+}
@@ -0,0 +1,20 @@
+/**
+ * Reihenfolge, in der {@link Stream#merge(java.util.List, int, MergeOrder)} die
+ * Elemente der einzelnen Streams zusammenführt.
+ */
+public enum MergeOrder {
+    /**
+     * Die Elemente werden weitergereicht, sobald sie gelesen wurden.
+     */
+    ARRIVAL,
+    /**
+     * Abwechselnd ein Element aus jedem gerade gelesenen Stream, in der
+     * Reihenfolge der Streams.
+     */
+    ROUND_ROBIN,
+    /**
+     * Alle Elemente des ersten Streams, dann die des zweiten usw. Die übrigen
+     * Streams werden trotzdem bereits im Voraus gelesen.
+     */
+    SOURCE
+}
@@ -0,0 +1,205 @@
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Reads several iterators concurrently into bounded queues, one per iterator,
+ * and returns their elements in the given {@link MergeOrder}.
+ */
+final class MergingStreamIterator<T> implements StreamIterator<T> {
+
+    private static final int QUEUE_CAPACITY = 256;
+    private static final long IDLE_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final List<Feed> feeds;
+    private final MergeOrder order;
+    private final int parallelism;
+    private final OptionalLong size;
+    private ExecutorService readers;
+    private volatile boolean closed;
+    /** index of the feed to look at first */
+    private int current;
+    private StreamElement<T> buffered;
+
+    MergingStreamIterator(List<StreamIterator<? extends T>> sources, int parallelism, MergeOrder order,
+                          OptionalLong size) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        this.feeds = new ArrayList<>(sources.size());
+        for (StreamIterator<? extends T> source : sources)
+            feeds.add(new Feed(source));
+        this.parallelism = parallelism;
+        this.order = order;
+        this.size = size;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (buffered != null)
+            return true;
+        if (readers == null)
+            startReaders();
+        while (current < feeds.size()) {
+            if (order == MergeOrder.SOURCE)
+                buffered = pollInSourceOrder();
+            else
+                buffered = pollCyclic(order == MergeOrder.ROUND_ROBIN);
+            if (buffered != null)
+                return true;
+            if (current < feeds.size())
+                LockSupport.parkNanos(IDLE_NANOS);
+        }
+        return false;
+    }
+
+    private StreamElement<T> pollInSourceOrder() {
+        while (current < feeds.size()) {
+            Feed feed = feeds.get(current);
+            boolean wasDone = feed.done;
+            StreamElement<T> element = feed.queue.poll();
+            if (element != null || !wasDone)
+                return element;
+            feed.checkFailure();
+            current++;
+        }
+        return null;
+    }
+
+    /**
+     * Looks at all feeds beginning with the current one. If strict, only feeds
+     * that are not being read yet or are exhausted are skipped.
+     */
+    private StreamElement<T> pollCyclic(boolean strict) {
+        boolean anyRemaining = false;
+        for (int i = 0; i < feeds.size(); i++) {
+            int index = (current + i) % feeds.size();
+            Feed feed = feeds.get(index);
+            if (feed.exhausted)
+                continue;
+            boolean wasDone = feed.done;
+            StreamElement<T> element = feed.queue.poll();
+            if (element != null) {
+                current = (index + 1) % feeds.size();
+                return element;
+            }
+            if (wasDone) {
+                feed.exhausted = true;
+                feed.checkFailure();
+                continue;
+            }
+            anyRemaining = true;
+            if (strict && feed.started) {
+                current = index;
+                return null;
+            }
+        }
+        if (!anyRemaining)
+            current = feeds.size();
+        return null;
+    }
+
+    private void startReaders() {
+        int threads = Math.min(parallelism, Math.max(1, feeds.size()));
+        readers = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "tolerant-stream-merge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < feeds.size(); i++) {
+            // the first feeds get a thread right away, the others once one is free
+            if (i < threads)
+                feeds.get(i).started = true;
+            readers.execute(feeds.get(i)::read);
+        }
+        readers.shutdown();
+    }
+
+    @Override
+    public StreamElement<T> next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        StreamElement<T> next = buffered;
+        buffered = null;
+        return next;
+    }
+
+    @Override
+    public OptionalLong getSize() {
+        return size;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (readers != null)
+            readers.shutdownNow();
+    }
+
+    private final class Feed {
+
+        final StreamIterator<? extends T> source;
+        final SpscQueue<StreamElement<T>> queue = new SpscQueue<>(QUEUE_CAPACITY);
+        volatile boolean started;
+        volatile boolean done;
+        /** set before done, thrown on the consuming thread once the queue is drained */
+        volatile Error failure;
+        /** only used by the consuming thread */
+        boolean exhausted;
+
+        Feed(StreamIterator<? extends T> source) {
+            this.source = source;
+        }
+
+        @SuppressWarnings("unchecked") // elements are immutable
+        void read() {
+            started = true;
+            try {
+                while (!closed) {
+                    boolean hasNext;
+                    try {
+                        hasNext = source.hasNext();
+                    } catch (RuntimeException e) {
+                        // the source is broken, nothing more can be read
+                        put(StreamElement.<T>of(null).withExceptionAdded(e));
+                        return;
+                    }
+                    if (!hasNext)
+                        return;
+                    StreamElement<T> next;
+                    try {
+                        next = (StreamElement<T>) source.next();
+                    } catch (RuntimeException e) {
+                        // the source may not have advanced, so reading on could repeat the failure forever
+                        put(StreamElement.<T>of(null).withExceptionAdded(e));
+                        return;
+                    }
+                    put(next);
+                }
+            } catch (Error e) {
+                failure = e;
+            } finally {
+                source.close();
+                done = true;
+            }
+        }
+
+        void checkFailure() {
+            if (failure != null)
+                throw failure;
+        }
+
+        private void put(StreamElement<T> element) {
+            while (!queue.offer(element)) {
+                if (closed)
+                    return;
+                LockSupport.parkNanos(IDLE_NANOS);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+
+import java.util.Objects;
+
+/**
+ * Lets several concurrently running operation chains feed one downstream
+ * operation. The downstream is started by the first chain and finished by the
+ * last one.
+ */
+final class MergingStreamOperation<T> implements StreamOperation<T> {
+
+    private final StreamOperation<T> downstream;
+    private int running;
+    private boolean aborted;
+
+    MergingStreamOperation(StreamOperation<T> downstream) {
+        this.downstream = Objects.requireNonNull(downstream);
+    }
+
+    @Override
+    public synchronized void start(StreamCharacteristics upstreamCharacteristics) {
+        if (running++ == 0)
+            downstream.start(upstreamCharacteristics);
+    }
+
+    @Override
+    public synchronized void acceptElement(StreamElement<T> element) {
+        // another chain may have satisfied the downstream in the meantime
+        if (downstream.needsMoreElements())
+            downstream.acceptElement(element);
+    }
+
+    @Override
+    public synchronized void finish() {
+        if (--running == 0)
+            downstream.finish();
+    }
+
+    /**
+     * Every chain may abort, the downstream is aborted only once.
+     */
+    @Override
+    public synchronized void abort() {
+        if (!aborted) {
+            aborted = true;
+            downstream.abort();
+        }
+    }
+
+    @Override
+    public synchronized void upstreamBecameChecked() {
+        downstream.upstreamBecameChecked();
+    }
+
+    @Override
+    public synchronized boolean needsMoreElements() {
+        return downstream.needsMoreElements();
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Ergebnis von {@link Stream#evaluate(Terminal, CancellationToken)}. Wurde die
+ * Auswertung abgebrochen, so ist das Ergebnis das der terminalen
+ * Stream-Operation über die bis dahin verarbeiteten Elemente.
+ *
+ * @param <R> der Typ des Ergebnisses
+ */
+public final class PartialResult<R> {
+
+    private final R result;
+    private final long processedElements;
+    private final boolean complete;
+
+    PartialResult(R result, long processedElements, boolean complete) {
+        this.result = result;
+        this.processedElements = processedElements;
+        this.complete = complete;
+    }
+
+    /**
+     * @return das Ergebnis der terminalen Stream-Operation
+     */
+    public R getResult() {
+        return result;
+    }
+
+    /**
+     * @return die Anzahl der Elemente, die aus der Quelle des Streams gelesen
+     *         wurden
+     */
+    public long getProcessedElements() {
+        return processedElements;
+    }
+
+    /**
+     * @return true, falls die Auswertung nicht abgebrochen wurde, das Ergebnis
+     *         also dasselbe ist wie bei einer Auswertung ohne
+     *         {@link CancellationToken}
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PartialResult [%s, processedElements=%d, complete=%b]", result, processedElements,
+                complete);
+    }
+}
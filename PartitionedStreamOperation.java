@@ -0,0 +1,168 @@
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Distributes the elements by their key onto single threaded lanes, each
+ * running its own copy of the downstream operations. Elements with the same key
+ * always end up in the same lane and therefore keep their order.
+ */
+final class PartitionedStreamOperation<T> implements StreamOperation<T> {
+
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final long IDLE_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Function<? super T, ?> keyFn;
+    private final List<Lane> lanes;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile boolean aborted;
+
+    PartitionedStreamOperation(StreamOperable<T> downstream, Function<? super T, ?> keyFn, int laneCount) {
+        this.keyFn = Objects.requireNonNull(keyFn);
+        this.lanes = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++)
+            lanes.add(new Lane(downstream.getStreamOperation()));
+    }
+
+    @Override
+    public void start(StreamCharacteristics upstreamCharacteristics) {
+        // the lanes only see a part of the elements
+        StreamCharacteristics laneCharacteristics = upstreamCharacteristics.withUnknownStreamSize();
+        for (Lane lane : lanes)
+            lane.chain.start(laneCharacteristics);
+        for (int i = 0; i < lanes.size(); i++) {
+            Lane lane = lanes.get(i);
+            lane.thread = new Thread(lane, "tolerant-stream-lane-" + i);
+            lane.thread.setDaemon(true);
+            lane.thread.start();
+        }
+    }
+
+    @Override
+    public void acceptElement(StreamElement<T> element) {
+        StreamElement<T> routed = element;
+        int index = 0;
+        if (!element.hasExceptions()) {
+            try {
+                index = laneOf(keyFn.apply(element.getElement()));
+            } catch (Exception e) {
+                routed = element.withExceptionAdded(e);
+            }
+        }
+        Lane lane = lanes.get(index);
+        while (!lane.queue.offer(routed)) {
+            if (failure.get() != null || aborted || !lane.wantsMore)
+                return;
+            LockSupport.parkNanos(IDLE_NANOS);
+        }
+    }
+
+    private int laneOf(Object key) {
+        int h = Objects.hashCode(key);
+        return Math.floorMod(h ^ (h >>> 16), lanes.size());
+    }
+
+    /**
+     * Passed on by the producing thread; the lanes are copies of the same chain,
+     * whose operations only forward it to the shared sink.
+     */
+    @Override
+    public void upstreamBecameChecked() {
+        for (Lane lane : lanes)
+            lane.chain.upstreamBecameChecked();
+    }
+
+    @Override
+    public boolean needsMoreElements() {
+        if (failure.get() != null || aborted)
+            return false;
+        for (Lane lane : lanes) {
+            if (lane.wantsMore)
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void finish() {
+        for (Lane lane : lanes)
+            lane.closed = true;
+        boolean interrupted = false;
+        for (Lane lane : lanes) {
+            while (true) {
+                try {
+                    lane.thread.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+        Throwable t = failure.get();
+        if (t instanceof RuntimeException)
+            throw (RuntimeException) t;
+        if (t instanceof Error)
+            throw (Error) t;
+    }
+
+    /**
+     * Stops the lanes without waiting for them, each lane aborts its own chain.
+     * Chains of lanes that were never started are aborted right here.
+     */
+    @Override
+    public void abort() {
+        aborted = true;
+        for (Lane lane : lanes) {
+            if (lane.thread == null)
+                lane.chain.abort();
+        }
+    }
+
+    private final class Lane implements Runnable {
+
+        final SpscQueue<StreamElement<T>> queue = new SpscQueue<>(QUEUE_CAPACITY);
+        final StreamOperation<T> chain;
+        Thread thread;
+        volatile boolean closed;
+        volatile boolean wantsMore = true;
+
+        Lane(StreamOperation<T> chain) {
+            this.chain = chain;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (failure.get() == null && !aborted) {
+                    boolean wasClosed = closed;
+                    StreamElement<T> element = queue.poll();
+                    if (element == null) {
+                        if (wasClosed) {
+                            chain.finish();
+                            return;
+                        }
+                        LockSupport.parkNanos(IDLE_NANOS);
+                    } else if (wantsMore) {
+                        chain.acceptElement(element);
+                        wantsMore = chain.needsMoreElements();
+                    }
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            }
+            // another lane failed or the evaluation was aborted
+            try {
+                chain.abort();
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            }
+        }
+    }
+}
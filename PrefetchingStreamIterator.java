@@ -0,0 +1,109 @@
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Reads the elements of another iterator ahead on a dedicated thread, so that
+ * waiting for the source and processing the elements overlap.
+ */
+final class PrefetchingStreamIterator<T> implements StreamIterator<T> {
+
+    private static final long IDLE_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final StreamIterator<T> source;
+    private final SpscQueue<StreamElement<T>> queue;
+    private volatile boolean done;
+    private volatile boolean closed;
+    private volatile Error failure;
+    private Thread producer;
+    private StreamElement<T> buffered;
+
+    PrefetchingStreamIterator(StreamIterator<T> source, int capacity) {
+        this.source = Objects.requireNonNull(source);
+        this.queue = new SpscQueue<>(capacity);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (buffered != null)
+            return true;
+        if (producer == null) {
+            producer = new Thread(this::produce, "tolerant-stream-prefetch");
+            producer.setDaemon(true);
+            producer.start();
+        }
+        while (true) {
+            boolean wasDone = done;
+            buffered = queue.poll();
+            if (buffered != null)
+                return true;
+            if (wasDone) {
+                if (failure != null)
+                    throw failure;
+                return false;
+            }
+            LockSupport.parkNanos(IDLE_NANOS);
+        }
+    }
+
+    @Override
+    public StreamElement<T> next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        StreamElement<T> next = buffered;
+        buffered = null;
+        return next;
+    }
+
+    @Override
+    public OptionalLong getSize() {
+        return source.getSize();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    private void produce() {
+        try {
+            while (!closed) {
+                boolean hasNext;
+                try {
+                    hasNext = source.hasNext();
+                } catch (RuntimeException e) {
+                    // the source is broken, nothing more can be read
+                    put(StreamElement.<T>of(null).withExceptionAdded(e));
+                    return;
+                }
+                if (!hasNext)
+                    return;
+                StreamElement<T> next;
+                try {
+                    next = source.next();
+                } catch (RuntimeException e) {
+                    // the source may not have advanced, so reading on could repeat the failure forever
+                    put(StreamElement.<T>of(null).withExceptionAdded(e));
+                    return;
+                }
+                put(next);
+            }
+        } catch (Error e) {
+            failure = e;
+        } finally {
+            source.close();
+            done = true;
+        }
+    }
+
+    private void put(StreamElement<T> element) {
+        while (!queue.offer(element)) {
+            if (closed)
+                return;
+            LockSupport.parkNanos(IDLE_NANOS);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+
+import java.util.Arrays;
+import java.util.OptionalDouble;
+
+/**
+ * Estimates a quantile with constant memory using the P² algorithm of Jain and
+ * Chlamtac. Up to five values the result is exact.
+ */
+final class QuantileEstimator {
+
+    private static final int MARKERS = 5;
+
+    private final double p;
+    /** marker heights */
+    private final double[] q = new double[MARKERS];
+    /** actual marker positions */
+    private final double[] n = new double[MARKERS];
+    /** desired marker positions */
+    private final double[] np = new double[MARKERS];
+    /** increments of the desired marker positions */
+    private final double[] dn;
+    private long count;
+
+    QuantileEstimator(double p) {
+        this.p = checkQuantile(p);
+        this.dn = new double[] { 0.0, p / 2, p, (1 + p) / 2, 1.0 };
+    }
+
+    static double checkQuantile(double p) {
+        if (!(p >= 0.0 && p <= 1.0))
+            throw new IllegalArgumentException("p must be between 0 and 1: " + p);
+        return p;
+    }
+
+    void add(double x) {
+        if (count < MARKERS) {
+            q[(int) count++] = x;
+            if (count == MARKERS) {
+                Arrays.sort(q);
+                for (int i = 0; i < MARKERS; i++) {
+                    n[i] = i;
+                    np[i] = 4 * dn[i];
+                }
+            }
+            return;
+        }
+        count++;
+        int k;
+        if (x < q[0]) {
+            q[0] = x;
+            k = 0;
+        } else if (x >= q[4]) {
+            q[4] = x;
+            k = 3;
+        } else {
+            k = 0;
+            while (x >= q[k + 1])
+                k++;
+        }
+        for (int i = k + 1; i < MARKERS; i++)
+            n[i]++;
+        for (int i = 0; i < MARKERS; i++)
+            np[i] += dn[i];
+        for (int i = 1; i < MARKERS - 1; i++) {
+            double d = np[i] - n[i];
+            if ((d >= 1 && n[i + 1] - n[i] > 1) || (d <= -1 && n[i - 1] - n[i] < -1)) {
+                int s = d > 0 ? 1 : -1;
+                double candidate = parabolic(i, s);
+                q[i] = q[i - 1] < candidate && candidate < q[i + 1] ? candidate : linear(i, s);
+                n[i] += s;
+            }
+        }
+    }
+
+    private double parabolic(int i, int s) {
+        return q[i] + s / (n[i + 1] - n[i - 1])
+                * ((n[i] - n[i - 1] + s) * (q[i + 1] - q[i]) / (n[i + 1] - n[i])
+                        + (n[i + 1] - n[i] - s) * (q[i] - q[i - 1]) / (n[i] - n[i - 1]));
+    }
+
+    private double linear(int i, int s) {
+        return q[i] + s * (q[i + s] - q[i]) / (n[i + s] - n[i]);
+    }
+
+    OptionalDouble get() {
+        if (count == 0)
+            return OptionalDouble.empty();
+        if (count <= MARKERS) {
+            // q is only sorted once the fifth value arrived
+            double[] sorted = Arrays.copyOf(q, (int) count);
+            Arrays.sort(sorted);
+            double rank = p * (count - 1);
+            int lower = (int) Math.floor(rank);
+            int upper = (int) Math.ceil(rank);
+            return OptionalDouble.of(sorted[lower] + (rank - lower) * (sorted[upper] - sorted[lower]));
+        }
+        if (p == 0.0)
+            return OptionalDouble.of(q[0]);
+        if (p == 1.0)
+            return OptionalDouble.of(q[4]);
+        return OptionalDouble.of(q[2]);
+    }
+}
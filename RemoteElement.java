@@ -0,0 +1,46 @@
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serializable form of a {@link StreamElement}, exceptions are replaced by
+ * their summaries and values that cannot be serialized by an error.
+ */
+final class RemoteElement implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Object element;
+    private final ArrayList<RemoteStreamException> exceptions;
+
+    private RemoteElement(Object element, ArrayList<RemoteStreamException> exceptions) {
+        this.element = element;
+        this.exceptions = exceptions;
+    }
+
+    static RemoteElement of(StreamElement<?> e) {
+        ArrayList<RemoteStreamException> exceptions = new ArrayList<>();
+        for (Exception exception : e.getExceptions())
+            exceptions.add(RemoteStreamException.of(exception));
+        if (!e.hasExceptions()) {
+            try {
+                RemoteSerialization.checkSerializable(e.getElement());
+            } catch (IOException | RuntimeException notSerializable) {
+                exceptions.add(RemoteStreamException.of(notSerializable));
+            }
+        }
+        return new RemoteElement(exceptions.isEmpty() ? e.getElement() : null, exceptions);
+    }
+
+    static <T> StreamElement<T> failure(Throwable t) {
+        return StreamElement.<T>of(null).withExceptionAdded(RemoteStreamException.of(t));
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> StreamElement<T> toStreamElement() {
+        if (exceptions.isEmpty())
+            return StreamElement.of((T) element);
+        return StreamElement.<T>of(null).withExceptionsAdded(List.copyOf(exceptions));
+    }
+}
@@ -0,0 +1,119 @@
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Serialisierbare Beschreibung einer Folge von Stream-Operationen, die von
+ * einem {@link DistributedRunner} in anderen Prozessen ausgeführt werden kann.
+ * Die Operationen verhalten sich wie die gleichnamigen Operationen von
+ * {@link Stream}, alle übergebenen Funktionen müssen jedoch serialisierbar sein
+ * und dürfen nur Klassen nutzen, die auch den Worker-Prozessen bekannt sind.
+ * <p>
+ * Instanzen sind unveränderlich, jede Operation liefert eine neue Pipeline.
+ *
+ * @param <T> der Typ der Elemente der Quelle
+ * @param <R> der Typ der Elemente nach allen Operationen
+ */
+public final class RemotePipeline<T, R> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<Stage> stages;
+    private final boolean checked;
+
+    private RemotePipeline(List<Stage> stages, boolean checked) {
+        this.stages = stages;
+        this.checked = checked;
+    }
+
+    /**
+     * Erzeugt eine Pipeline ohne Operationen.
+     */
+    public static <T> RemotePipeline<T, T> identity() {
+        return new RemotePipeline<>(List.of(), false);
+    }
+
+    /**
+     * @throws NullPointerException falls mapper null ist
+     * @see Stream#map(Function)
+     */
+    public <S> RemotePipeline<T, S> map(SerializableFunction<? super R, ? extends S> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return with(s -> s.map(cast(mapper)), checked);
+    }
+
+    /**
+     * @throws NullPointerException falls mapper null ist
+     * @see Stream#mapChecked(ThrowingFunction)
+     */
+    public <S> RemotePipeline<T, S> mapChecked(SerializableThrowingFunction<? super R, ? extends S> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return with(s -> s.mapChecked(cast(mapper)), true);
+    }
+
+    /**
+     * @throws NullPointerException falls filter null ist
+     * @see Stream#filter(Predicate)
+     */
+    public RemotePipeline<T, R> filter(SerializablePredicate<? super R> filter) {
+        Objects.requireNonNull(filter, "filter");
+        return with(s -> s.filter(cast(filter)), checked);
+    }
+
+    /**
+     * @throws NullPointerException falls filter null ist
+     * @see Stream#filterChecked(ThrowingPredicate)
+     */
+    public RemotePipeline<T, R> filterChecked(SerializableThrowingPredicate<? super R> filter) {
+        Objects.requireNonNull(filter, "filter");
+        return with(s -> s.filterChecked(cast(filter)), true);
+    }
+
+    /**
+     * @throws NullPointerException falls errorMapper null ist
+     * @see Stream#onErrorMap(Function)
+     */
+    public RemotePipeline<T, R> onErrorMap(SerializableFunction<? super List<Exception>, ? extends R> errorMapper) {
+        Objects.requireNonNull(errorMapper, "errorMapper");
+        return with(s -> s.onErrorMap(cast(errorMapper)), false);
+    }
+
+    /**
+     * @see Stream#onErrorFilter()
+     */
+    public RemotePipeline<T, R> onErrorFilter() {
+        return with(Stream::onErrorFilter, false);
+    }
+
+    boolean isChecked() {
+        return checked;
+    }
+
+    @SuppressWarnings("unchecked")
+    Stream<R> applyTo(Stream<T> source) {
+        Stream<Object> stream = (Stream<Object>) source;
+        for (Stage stage : stages)
+            stream = stage.apply(stream);
+        return (Stream<R>) stream;
+    }
+
+    private <S> RemotePipeline<T, S> with(Stage stage, boolean checked) {
+        ArrayList<Stage> newStages = new ArrayList<>(stages);
+        newStages.add(stage);
+        return new RemotePipeline<>(List.copyOf(newStages), checked);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <F> F cast(Object function) {
+        // the stages only ever see elements of the matching type
+        return (F) function;
+    }
+
+    @FunctionalInterface
+    private interface Stage extends Serializable {
+        Stream<Object> apply(Stream<Object> stream);
+    }
+}
@@ -0,0 +1,73 @@
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Restricts what the coordinator and the workers deserialize from each other to
+ * the classes of this library, common JDK value and collection classes,
+ * serialized lambdas and the classes allowed by the user.
+ */
+final class RemoteSerialization {
+
+    static final Duration DEFAULT_TIMEOUT = Duration.ofMinutes(5);
+
+    private static final String ALLOWED_BY_DEFAULT = "maxdepth=64;"
+            + "RemoteTask;RemotePipeline;RemoteElement;RemoteStreamException;RemoteTerminal;"
+            // deserialized lambdas are checked once more as instances of their hidden class
+            + "RemotePipeline$$Lambda*;RemoteTerminal$$Lambda*;"
+            + "java.lang.*;java.util.*;java.time.*;java.math.*;java.lang.invoke.SerializedLambda";
+    /** serializable without referring to objects of other classes */
+    private static final Set<Class<?>> SELF_CONTAINED = Set.of(String.class, Integer.class, Long.class,
+            Short.class, Byte.class, Character.class, Boolean.class, Double.class, Float.class, BigInteger.class,
+            BigDecimal.class, UUID.class, Instant.class, LocalDate.class, LocalTime.class, LocalDateTime.class);
+
+    private RemoteSerialization() {
+    }
+
+    /**
+     * @param allowedClasses additional classes in the pattern syntax of
+     *                       {@link ObjectInputFilter.Config#createFilter(String)},
+     *                       may be empty
+     * @throws IllegalArgumentException if the pattern is malformed
+     */
+    static ObjectInputFilter filter(String allowedClasses) {
+        String pattern = ALLOWED_BY_DEFAULT + (allowedClasses.isEmpty() ? "" : ";" + allowedClasses) + ";!*";
+        return ObjectInputFilter.Config.createFilter(pattern);
+    }
+
+    static ObjectInputStream input(InputStream in, ObjectInputFilter filter) throws IOException {
+        ObjectInputStream objects = new ObjectInputStream(new BufferedInputStream(in));
+        objects.setObjectInputFilter(filter);
+        return objects;
+    }
+
+    /**
+     * Serializes the whole object graph into nothing, so that a value referring
+     * to something that is not serializable fails on its own instead of the
+     * batch it would be sent with.
+     */
+    static void checkSerializable(Object value) throws IOException {
+        if (value == null || SELF_CONTAINED.contains(value.getClass()))
+            return;
+        try (ObjectOutputStream out = new ObjectOutputStream(OutputStream.nullOutputStream())) {
+            out.writeObject(value);
+        }
+    }
+
+    static int timeoutMillis(Duration timeout) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1L, timeout.toMillis()));
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * Serialisierbare Zusammenfassung einer Exception, die bei der verteilten
+ * Auswertung in einem anderen Prozess aufgetreten ist. Klassenname, Nachricht,
+ * Stacktrace und Ursachen der ursprünglichen Exception bleiben erhalten.
+ */
+public class RemoteStreamException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+    private static final int MAX_CAUSE_DEPTH = 16;
+
+    private final String remoteClassName;
+
+    RemoteStreamException(String remoteClassName, String remoteMessage, RemoteStreamException cause) {
+        super(remoteMessage == null ? remoteClassName : remoteClassName + ": " + remoteMessage, cause);
+        this.remoteClassName = remoteClassName;
+    }
+
+    /**
+     * @return der Klassenname der ursprünglichen Exception
+     */
+    public String getRemoteClassName() {
+        return remoteClassName;
+    }
+
+    static RemoteStreamException of(Throwable t) {
+        return of(t, 0);
+    }
+
+    private static RemoteStreamException of(Throwable t, int depth) {
+        if (t instanceof RemoteStreamException)
+            return (RemoteStreamException) t;
+        Throwable cause = t.getCause();
+        RemoteStreamException summary = new RemoteStreamException(t.getClass().getName(), t.getMessage(),
+                cause == null || depth >= MAX_CAUSE_DEPTH ? null : of(cause, depth + 1));
+        summary.setStackTrace(t.getStackTrace());
+        return summary;
+    }
+}
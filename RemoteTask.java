@@ -0,0 +1,36 @@
+import java.io.Serializable;
+import java.util.ArrayList;
+
+/**
+ * A batch of the source together with the pipeline to apply to it and, if
+ * only a partial result is wanted, the terminal to evaluate.
+ */
+final class RemoteTask implements Serializable {
+
+    private static final long serialVersionUID = 2L;
+
+    private final ArrayList<RemoteElement> elements;
+    private final RemotePipeline<?, ?> pipeline;
+    private final RemoteTerminal.WorkerPart terminal;
+
+    RemoteTask(ArrayList<RemoteElement> elements, RemotePipeline<?, ?> pipeline, RemoteTerminal.WorkerPart terminal) {
+        this.elements = elements;
+        this.pipeline = pipeline;
+        this.terminal = terminal;
+    }
+
+    ArrayList<RemoteElement> getElements() {
+        return elements;
+    }
+
+    RemotePipeline<?, ?> getPipeline() {
+        return pipeline;
+    }
+
+    /**
+     * @return null if all elements are sent back
+     */
+    RemoteTerminal.WorkerPart getTerminal() {
+        return terminal;
+    }
+}
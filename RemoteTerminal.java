@@ -0,0 +1,93 @@
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Terminale Stream-Operation für {@link DistributedRunner#run(Stream, RemotePipeline, RemoteTerminal)}.
+ * Jeder Worker wertet sie über seine Teile der Quelle aus, die Teilergebnisse
+ * werden anschließend in der Reihenfolge der Quelle zusammengeführt. Es
+ * gelangen also nur die Teilergebnisse zurück, nicht die Elemente.
+ *
+ * @param <T> der Typ der Elemente im Stream
+ * @param <R> der Typ des Ergebnisses
+ */
+public final class RemoteTerminal<T, R> {
+
+    private final WorkerPart workerPart;
+    /** the merged partial result if the source is empty */
+    private final Object emptyPartial;
+    private final BinaryOperator<Object> combiner;
+    private final Function<Object, R> finisher;
+
+    private RemoteTerminal(WorkerPart workerPart, Object emptyPartial, BinaryOperator<Object> combiner,
+                           Function<Object, R> finisher) {
+        this.workerPart = workerPart;
+        this.emptyPartial = emptyPartial;
+        this.combiner = combiner;
+        this.finisher = finisher;
+    }
+
+    /**
+     * @see Stream#count()
+     */
+    public static <T> RemoteTerminal<T, Long> count() {
+        return new RemoteTerminal<>(Terminal::count, 0L, (a, b) -> (Long) a + (Long) b, p -> (Long) p);
+    }
+
+    /**
+     * @throws NullPointerException falls accumulator null ist
+     * @see Stream#reduce(BinaryOperator)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> RemoteTerminal<T, Optional<T>> reduce(SerializableBinaryOperator<T> accumulator) {
+        Objects.requireNonNull(accumulator, "accumulator");
+        // an empty partial result travels as null, see DistributedWorker
+        return new RemoteTerminal<>(() -> Terminal.reduce(accumulator), null,
+                (a, b) -> a == null ? b : b == null ? a : accumulator.apply((T) a, (T) b),
+                p -> Optional.ofNullable((T) p));
+    }
+
+    /**
+     * @throws NullPointerException falls comparator null ist
+     * @see Stream#min(java.util.Comparator)
+     */
+    public static <T> RemoteTerminal<T, Optional<T>> min(SerializableComparator<? super T> comparator) {
+        Objects.requireNonNull(comparator, "comparator");
+        return reduce((a, b) -> comparator.compare(a, b) <= 0 ? a : b);
+    }
+
+    /**
+     * @throws NullPointerException falls comparator null ist
+     * @see Stream#max(java.util.Comparator)
+     */
+    public static <T> RemoteTerminal<T, Optional<T>> max(SerializableComparator<? super T> comparator) {
+        Objects.requireNonNull(comparator, "comparator");
+        return reduce((a, b) -> comparator.compare(a, b) >= 0 ? a : b);
+    }
+
+    WorkerPart getWorkerPart() {
+        return workerPart;
+    }
+
+    Object getEmptyPartial() {
+        return emptyPartial;
+    }
+
+    Object combine(Object a, Object b) {
+        return combiner.apply(a, b);
+    }
+
+    R finish(Object partial) {
+        return finisher.apply(partial);
+    }
+
+    /**
+     * The part shipped to the workers, creates the terminal they evaluate.
+     */
+    @FunctionalInterface
+    interface WorkerPart extends Serializable {
+        Terminal<?, ?> create();
+    }
+}
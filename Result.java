@@ -0,0 +1,125 @@
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Ergebnis einer Funktion für {@link Stream#mapResult(java.util.function.Function)}
+ * und {@link Stream#filterResult(java.util.function.Function)}: entweder ein
+ * Wert oder ein Fehler aus Code und Nachricht. Anders als eine geworfene
+ * Exception kostet ein Fehler dabei kaum mehr als ein regulärer Wert; eine
+ * {@link ResultException} wird erst erzeugt, wenn die Exceptions eines
+ * fehlerhaften Elements tatsächlich abgefragt werden.
+ *
+ * @param <T> der Typ des Werts
+ */
+public abstract sealed class Result<T> permits Result.Success, Result.Failure {
+
+    private Result() {
+    }
+
+    /**
+     * @return ein erfolgreiches Ergebnis mit dem übergebenen Wert, der auch null
+     *         sein darf
+     */
+    public static <T> Result<T> success(T value) {
+        return new Success<>(value);
+    }
+
+    /**
+     * @return ein fehlerhaftes Ergebnis
+     * @throws NullPointerException falls code null ist
+     */
+    public static <T> Result<T> failure(String code, String message) {
+        return new Failure<>(Objects.requireNonNull(code, "code"), message);
+    }
+
+    public abstract boolean isSuccess();
+
+    /**
+     * @throws NoSuchElementException falls das Ergebnis fehlerhaft ist
+     */
+    public abstract T getValue();
+
+    /**
+     * @throws NoSuchElementException falls das Ergebnis erfolgreich ist
+     */
+    public abstract String getCode();
+
+    /**
+     * @throws NoSuchElementException falls das Ergebnis erfolgreich ist
+     */
+    public abstract String getMessage();
+
+    static final class Success<T> extends Result<T> {
+
+        private final T value;
+
+        Success(T value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean isSuccess() {
+            return true;
+        }
+
+        @Override
+        public T getValue() {
+            return value;
+        }
+
+        @Override
+        public String getCode() {
+            throw new NoSuchElementException("Result is a success");
+        }
+
+        @Override
+        public String getMessage() {
+            throw new NoSuchElementException("Result is a success");
+        }
+
+        @Override
+        public String toString() {
+            return "Success[" + value + "]";
+        }
+    }
+
+    static final class Failure<T> extends Result<T> {
+
+        private final String code;
+        private final String message;
+
+        Failure(String code, String message) {
+            this.code = code;
+            this.message = message;
+        }
+
+        @Override
+        public boolean isSuccess() {
+            return false;
+        }
+
+        @Override
+        public T getValue() {
+            throw new NoSuchElementException("Result is a failure: " + code);
+        }
+
+        @Override
+        public String getCode() {
+            return code;
+        }
+
+        @Override
+        public String getMessage() {
+            return message;
+        }
+
+        ResultException toException() {
+            return new ResultException(code, message);
+        }
+
+        @Override
+        public String toString() {
+            return "Failure[" + code + ": " + message + "]";
+        }
+    }
+}
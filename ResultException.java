@@ -0,0 +1,23 @@
+/**
+ * Exception für ein fehlerhaftes {@link Result}. Sie wird erst erzeugt, wenn die
+ * Exceptions eines fehlerhaften Elements abgefragt werden, und hat daher keinen
+ * Stacktrace.
+ */
+public class ResultException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String code;
+
+    public ResultException(String code, String message) {
+        super(message == null ? code : code + ": " + message, null, false, false);
+        this.code = code;
+    }
+
+    /**
+     * @return der Fehlercode des {@link Result}s
+     */
+    public String getCode() {
+        return code;
+    }
+}
@@ -0,0 +1,103 @@
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.LongSupplier;
+
+/**
+ * Accumulates the upstream elements like {@link Terminal#reduce(BinaryOperator)}
+ * but passes a snapshot downstream whenever a number of elements arrived or an
+ * interval passed, and a last one when the upstream ends. Error elements and
+ * failures of the accumulator are only counted, so the accumulation goes on.
+ * Only the current value is kept.
+ */
+final class RunningReduceOperation<T> extends ChainedStreamOperation<T, RunningSnapshot<T>> {
+
+    private final BinaryOperator<T> accumulator;
+    /** 0 if snapshots are not emitted by number of elements */
+    private final long everyElements;
+    /** 0 if snapshots are not emitted by time */
+    private final long everyNanos;
+    private final LongSupplier nanoClock;
+
+    private T current;
+    private long elements;
+    private long errors;
+    private long sinceLastSnapshot;
+    private long lastSnapshotNanos;
+
+    private RunningReduceOperation(StreamOperable<RunningSnapshot<T>> downstream, BinaryOperator<T> accumulator,
+                                   long everyElements, long everyNanos, LongSupplier nanoClock) {
+        super(downstream);
+        this.accumulator = Objects.requireNonNull(accumulator);
+        this.everyElements = everyElements;
+        this.everyNanos = everyNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    static <T> RunningReduceOperation<T> everyElements(StreamOperable<RunningSnapshot<T>> downstream,
+                                                       BinaryOperator<T> accumulator, int elements) {
+        return new RunningReduceOperation<>(downstream, accumulator, elements, 0L, System::nanoTime);
+    }
+
+    static <T> RunningReduceOperation<T> everyNanos(StreamOperable<RunningSnapshot<T>> downstream,
+                                                    BinaryOperator<T> accumulator, long nanos,
+                                                    LongSupplier nanoClock) {
+        return new RunningReduceOperation<>(downstream, accumulator, 0L, nanos, nanoClock);
+    }
+
+    @Override
+    public void start(StreamCharacteristics upstreamCharacteristics) {
+        lastSnapshotNanos = everyNanos > 0 ? nanoClock.getAsLong() : 0L;
+        super.start(upstreamCharacteristics);
+    }
+
+    @Override
+    StreamCharacteristics modifyCharacteristics(StreamCharacteristics upstreamCharacteristics) {
+        // errors end up in the snapshots
+        return upstreamCharacteristics.withUnknownStreamSize().withNewValues().withNonNull(true).withChecked(false);
+    }
+
+    @Override
+    public void upstreamBecameChecked() {
+        // errors end up in the snapshots
+    }
+
+    @Override
+    public void acceptElement(StreamElement<T> t) {
+        if (t.hasExceptions()) {
+            errors++;
+        } else if (elements == 0) {
+            current = t.getElement();
+            elements++;
+        } else {
+            try {
+                current = accumulator.apply(current, t.getElement());
+                elements++;
+            } catch (Exception e) {
+                errors++;
+            }
+        }
+        sinceLastSnapshot++;
+        if (isSnapshotDue())
+            emitSnapshot();
+    }
+
+    private boolean isSnapshotDue() {
+        if (everyElements > 0)
+            return sinceLastSnapshot >= everyElements;
+        return nanoClock.getAsLong() - lastSnapshotNanos >= everyNanos;
+    }
+
+    private void emitSnapshot() {
+        sinceLastSnapshot = 0;
+        if (everyNanos > 0)
+            lastSnapshotNanos = nanoClock.getAsLong();
+        downstream().acceptElement(StreamElement.of(new RunningSnapshot<>(current, elements, errors)));
+    }
+
+    @Override
+    public void finish() {
+        if (sinceLastSnapshot > 0 && downstream().needsMoreElements())
+            emitSnapshot();
+        super.finish();
+    }
+}
@@ -0,0 +1,50 @@
+import java.util.Optional;
+
+/**
+ * Zwischenstand von {@link Stream#runningReduce(java.util.function.BinaryOperator, int)}
+ * bzw. {@link Stream#runningReduce(java.util.function.BinaryOperator, java.time.Duration)}:
+ * der bisher akkumulierte Wert und wie viele Elemente dazu beigetragen haben.
+ *
+ * @param <T> der Typ des akkumulierten Werts
+ */
+public final class RunningSnapshot<T> {
+
+    private final T value;
+    private final long elements;
+    private final long errors;
+
+    RunningSnapshot(T value, long elements, long errors) {
+        this.value = value;
+        this.elements = elements;
+        this.errors = errors;
+    }
+
+    /**
+     * @return der bisher akkumulierte Wert, leer, falls noch kein Element
+     *         akkumuliert wurde oder der Wert null ist
+     */
+    public Optional<T> getValue() {
+        return Optional.ofNullable(value);
+    }
+
+    /**
+     * @return die Anzahl der bisher akkumulierten Elemente
+     */
+    public long getElements() {
+        return elements;
+    }
+
+    /**
+     * @return die Anzahl der bisher übersprungenen Elemente, also der
+     *         fehlerhaften Elemente und derer, bei denen der accumulator einen
+     *         Fehler geworfen hat
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RunningSnapshot [%s, elements=%d, errors=%d]", value, elements, errors);
+    }
+}
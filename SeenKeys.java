@@ -0,0 +1,106 @@
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers the keys already seen by distinctBy, possibly forgetting old ones.
+ */
+abstract class SeenKeys {
+
+    /**
+     * @return true if the key was not seen before or was forgotten already
+     */
+    abstract boolean add(Object key);
+
+    /**
+     * Forgets all keys once the stream ended, they no longer count as retained.
+     */
+    abstract void release();
+
+    static SeenKeys unbounded(DistinctMetrics metrics) {
+        HashSet<Object> keys = new HashSet<>();
+        return new SeenKeys() {
+            @Override
+            boolean add(Object key) {
+                if (!keys.add(key))
+                    return false;
+                metrics.retained();
+                return true;
+            }
+
+            @Override
+            void release() {
+                metrics.released(keys.size());
+                keys.clear();
+            }
+        };
+    }
+
+    /**
+     * Forgets keys after ttl has passed since they were first seen.
+     */
+    static SeenKeys expiring(Duration ttl, DistinctMetrics metrics, LongSupplier nanoClock) {
+        long ttlNanos = ttl.toNanos();
+        // insertion order is also expiry order, so only the head has to be checked
+        LinkedHashMap<Object, Long> keys = new LinkedHashMap<>();
+        return new SeenKeys() {
+            @Override
+            boolean add(Object key) {
+                long now = nanoClock.getAsLong();
+                Iterator<Long> it = keys.values().iterator();
+                while (it.hasNext() && now - it.next() >= ttlNanos) {
+                    it.remove();
+                    metrics.evicted();
+                }
+                if (keys.containsKey(key))
+                    return false;
+                keys.put(key, now);
+                metrics.retained();
+                return true;
+            }
+
+            @Override
+            void release() {
+                metrics.released(keys.size());
+                keys.clear();
+            }
+        };
+    }
+
+    /**
+     * Forgets the least recently seen key once more than maxKeys are known.
+     */
+    static SeenKeys leastRecentlySeen(int maxKeys, DistinctMetrics metrics) {
+        LinkedHashMap<Object, Boolean> keys = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Boolean> eldest) {
+                if (size() <= maxKeys)
+                    return false;
+                metrics.evicted();
+                return true;
+            }
+        };
+        return new SeenKeys() {
+            @Override
+            boolean add(Object key) {
+                if (keys.get(key) != null)
+                    return false;
+                metrics.retained();
+                keys.put(key, Boolean.TRUE);
+                return true;
+            }
+
+            @Override
+            void release() {
+                metrics.released(keys.size());
+                keys.clear();
+            }
+        };
+    }
+}
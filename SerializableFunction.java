@@ -0,0 +1,6 @@
+import java.io.Serializable;
+import java.util.function.Function;
+
+@FunctionalInterface
+public interface SerializableFunction<T, R> extends Function<T, R>, Serializable {
+}
@@ -0,0 +1,5 @@
+import java.io.Serializable;
+
+@FunctionalInterface
+public interface SerializableThrowingFunction<T, R> extends ThrowingFunction<T, R>, Serializable {
+}
@@ -0,0 +1,5 @@
+import java.io.Serializable;
+
+@FunctionalInterface
+public interface SerializableThrowingPredicate<T> extends ThrowingPredicate<T>, Serializable {
+}
@@ -1,11 +1,28 @@
 
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.function.BiFunction;
 
 public final class SourcePart<T> extends AbstractStreamPart<T, T> {
 
+    /** the deadline of a cancellation token is checked about this often */
+    private static final long DEADLINE_CHECK_NANOS = 100_000L;
+    private static final int MAX_DEADLINE_CHECK_INTERVAL = 16;
+
     private final StreamIterator<T> source;
     private final StreamCharacteristics characteristics;
+    private boolean concurrent;
+    /** set before the evaluation starts any other thread */
+    private CancellationToken cancellationToken;
+    /** number of calls between two checks of the deadline, adapted to their cost, only used by isCancelled() */
+    private int deadlineCheckInterval = 1;
+    private int callsUntilDeadlineCheck;
+    private long lastDeadlineCheck;
+    private volatile boolean cancelled;
+    private long processedElements;
 
     SourcePart(StreamIterator<T> source, StreamCharacteristics characteristics) {
         this.source = Objects.requireNonNull(source, "source");
@@ -16,6 +33,94 @@ public final class SourcePart<T> extends AbstractStreamPart<T, T> {
         this(source, StreamCharacteristics.regular().withStreamSize(source.getSize()));
     }
 
+    static <T> SourcePart<T> concat(List<? extends Stream<? extends T>> streams) {
+        List<StreamIterator<? extends T>> iterators = new ArrayList<>(streams.size());
+        StreamCharacteristics characteristics = consumeSources(streams, iterators);
+        return new SourcePart<>(StreamIterator.concat(iterators, characteristics.getStreamSize()), characteristics);
+    }
+
+    static <T> SourcePart<T> merge(List<? extends Stream<? extends T>> streams, int parallelism, MergeOrder order) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        List<StreamIterator<? extends T>> iterators = new ArrayList<>(streams.size());
+        StreamCharacteristics characteristics = consumeSources(streams, iterators);
+        if (order != MergeOrder.SOURCE)
+            characteristics = characteristics.withSorted(false);
+        return new SourcePart<>(new MergingStreamIterator<>(iterators, parallelism, order,
+                characteristics.getStreamSize()), characteristics);
+    }
+
+    /**
+     * Takes over the iterators of all sources.
+     *
+     * @return the characteristics of the sources one after another
+     */
+    private static <T> StreamCharacteristics consumeSources(List<? extends Stream<? extends T>> streams,
+                                                            List<StreamIterator<? extends T>> iterators) {
+        List<SourcePart<? extends T>> parts = new ArrayList<>(streams.size());
+        for (Stream<? extends T> stream : streams)
+            parts.add(unconsumedSource(stream));
+        StreamCharacteristics characteristics = null;
+        for (SourcePart<? extends T> part : parts) {
+            characteristics = characteristics == null ? part.characteristics
+                    : characteristics.concat(part.characteristics);
+            iterators.add(part.consumeIterator());
+        }
+        if (characteristics == null)
+            characteristics = new StreamCharacteristics(0L, true, false);
+        return characteristics;
+    }
+
+    static <A, B, R> SourcePart<R> zip(Stream<A> a, Stream<B> b,
+                                       BiFunction<? super A, ? super B, ? extends R> combiner) {
+        SourcePart<A> left = unconsumedSource(a);
+        SourcePart<B> right = unconsumedSource(b);
+        StreamCharacteristics characteristics = left.characteristics.zip(right.characteristics);
+        return new SourcePart<>(StreamIterator.zip(left.consumeIterator(), right.consumeIterator(), combiner,
+                characteristics.getStreamSize()), characteristics);
+    }
+
+    static <T> SourcePart<T> prefetch(Stream<T> stream, int capacity) {
+        if (!(stream instanceof SourcePart))
+            throw new IllegalArgumentException("Only streams without any operations can be prefetched");
+        SourcePart<T> part = (SourcePart<T>) stream;
+        PrefetchingStreamIterator<T> prefetching = new PrefetchingStreamIterator<>(part.source, capacity);
+        StreamCharacteristics partCharacteristics = part.characteristics;
+        part.consumeIterator();
+        return new SourcePart<>(prefetching, partCharacteristics);
+    }
+
+    /**
+     * Takes over the elements of a stream without any operations.
+     *
+     * @throws IllegalArgumentException if the stream has operations
+     */
+    static <T> StreamIterator<T> consumeSource(Stream<T> stream) {
+        return unconsumedSource(stream).consumeIterator();
+    }
+
+    private static <T> SourcePart<T> unconsumedSource(Stream<T> stream) {
+        if (!(stream instanceof SourcePart))
+            throw new IllegalArgumentException("Only streams without any operations can be combined");
+        return (SourcePart<T>) stream;
+    }
+
+    /**
+     * Takes over the elements of this source, the source itself counts as
+     * consumed afterwards.
+     */
+    StreamIterator<T> consumeIterator() {
+        setNext(() -> {
+            throw new IllegalStateException("Stream was combined with another stream");
+        });
+        return source;
+    }
+
+    @Override
+    OptionalLong getKnownSize() {
+        return characteristics.getStreamSize();
+    }
+
     @Override
     SourcePart<?> getSource() {
         return this;
@@ -27,12 +132,101 @@ public final class SourcePart<T> extends AbstractStreamPart<T, T> {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * @return true if the elements of this source are processed by several
+     *         threads at some point
+     */
+    boolean isConcurrent() {
+        return concurrent;
+    }
+
+    void setConcurrent() {
+        concurrent = true;
+    }
+
+    void setCancellationToken(CancellationToken token) {
+        cancellationToken = Objects.requireNonNull(token, "token");
+        lastDeadlineCheck = System.nanoTime();
+    }
+
+    /**
+     * Cheap enough to be called for every element: an explicit cancellation is
+     * seen at once, while the clock for the deadline is only read about every
+     * {@value #DEADLINE_CHECK_NANOS} ns, judged by the time the previous calls
+     * took. Only the thread reading the source may call this, other threads use
+     * {@link #isCancelledFromAnyThread()}.
+     *
+     * @return true if the evaluation of this source was cancelled
+     */
+    boolean isCancelled() {
+        if (cancellationToken == null)
+            return false;
+        if (cancelled)
+            return true;
+        if (cancellationToken.isCancelledExplicitly())
+            return cancelled = true;
+        if (!cancellationToken.hasDeadline() || --callsUntilDeadlineCheck > 0)
+            return false;
+        long now = System.nanoTime();
+        long elapsed = Math.max(1L, now - lastDeadlineCheck);
+        lastDeadlineCheck = now;
+        // shrinks at once when the elements get slower, but grows only step by step
+        long interval = Math.min(2L * deadlineCheckInterval, deadlineCheckInterval * DEADLINE_CHECK_NANOS / elapsed);
+        deadlineCheckInterval = (int) Math.max(1L, Math.min(MAX_DEADLINE_CHECK_INTERVAL, interval));
+        callsUntilDeadlineCheck = deadlineCheckInterval;
+        return cancelled = cancellationToken.isDeadlinePassed(now);
+    }
+
+    /**
+     * Like {@link #isCancelled()}, but safe for any thread, e.g. for operations
+     * running on the lanes of a partitioned stream, since it reads the clock on
+     * every call instead of adapting the check interval.
+     *
+     * @return true if the evaluation of this source was cancelled
+     */
+    boolean isCancelledFromAnyThread() {
+        if (cancelled)
+            return true;
+        if (cancellationToken == null || !cancellationToken.isCancelled())
+            return false;
+        return cancelled = true;
+    }
+
+    /**
+     * @return true if a cancellation was noticed during the evaluation, without
+     *         asking the token again
+     */
+    boolean wasCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return the number of elements read from the source so far
+     */
+    long getProcessedElements() {
+        return processedElements;
+    }
+
     void processStream() {
         StreamOperation<T> firstOp = getNext().getStreamOperation();
-        firstOp.start(characteristics);
-        while (firstOp.needsMoreElements() && source.hasNext()) {
-            firstOp.acceptElement(source.next());
+        try {
+            firstOp.start(characteristics);
+            try {
+                while (firstOp.needsMoreElements() && source.hasNext() && !isCancelled()) {
+                    processedElements++;
+                    firstOp.acceptElement(source.next());
+                }
+            } finally {
+                source.close();
+            }
+            firstOp.finish();
+        } catch (Throwable t) {
+            try {
+                firstOp.abort();
+            } catch (Throwable suppressed) {
+                t.addSuppressed(suppressed);
+            }
+            throw t;
         }
-        firstOp.finish();
     }
 }
\ No newline at end of file
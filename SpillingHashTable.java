@@ -0,0 +1,325 @@
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Hash table for the build side of a hash join. Once it holds more entries than
+ * allowed, all entries are spilled into hash partitioned temporary files and the
+ * probe side has to be spilled as well, so that matching partitions can later be
+ * joined one after another (grace hash join). A partition whose build side is
+ * still too large is split again by the next bits of the hash, until only keys
+ * with equal hashes are left together.
+ */
+final class SpillingHashTable<B, P> implements AutoCloseable {
+
+    private static final int PARTITION_BITS = 4;
+    private static final int PARTITIONS = 1 << PARTITION_BITS;
+    /** the deepest level still has bits of the hash left */
+    private static final int MAX_LEVEL = Integer.SIZE / PARTITION_BITS - 1;
+
+    /** an entry count, since the size of the entries is unknown */
+    private final int inMemoryLimit;
+    private HashMap<Object, List<B>> table = new HashMap<>();
+    private int size;
+    private Partition[] partitions;
+    /** all files created so far, including those of split partitions */
+    private List<SpillFile> files;
+    private final List<Exception> failures = new ArrayList<>();
+
+    SpillingHashTable(int inMemoryLimit) {
+        if (inMemoryLimit <= 0)
+            throw new IllegalArgumentException("inMemoryLimit must be positive: " + inMemoryLimit);
+        this.inMemoryLimit = inMemoryLimit;
+    }
+
+    boolean isSpilled() {
+        return partitions != null;
+    }
+
+    void addBuild(Object key, B value) {
+        if (isSpilled()) {
+            write(key, value, true);
+            return;
+        }
+        table.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+        if (++size > inMemoryLimit)
+            spill();
+    }
+
+    /**
+     * Only valid as long as the table is not spilled.
+     */
+    List<B> get(Object key) {
+        return table.getOrDefault(key, List.of());
+    }
+
+    /**
+     * Only valid once the table is spilled, the probe is joined later on by
+     * {@link #joinSpilled(BiConsumer, BooleanSupplier)}.
+     */
+    void addProbe(Object key, P value) {
+        write(key, value, false);
+    }
+
+    /**
+     * @return the exceptions of all entries that could not be spilled since the
+     *         last call
+     */
+    List<Exception> drainFailures() {
+        if (failures.isEmpty())
+            return List.of();
+        List<Exception> drained = List.copyOf(failures);
+        failures.clear();
+        return drained;
+    }
+
+    /**
+     * Joins the spilled partitions, passing each probe value with its matching
+     * build values.
+     */
+    void joinSpilled(BiConsumer<P, List<B>> join, BooleanSupplier needsMore) {
+        joinPartitions(partitions, join, needsMore);
+    }
+
+    /**
+     * @return false if no more elements are needed
+     */
+    @SuppressWarnings("unchecked")
+    private boolean joinPartitions(Partition[] toJoin, BiConsumer<P, List<B>> join, BooleanSupplier needsMore) {
+        for (Partition partition : toJoin) {
+            partition.build.close();
+            partition.probe.close();
+            if (partition.build.records > inMemoryLimit && partition.level < MAX_LEVEL) {
+                if (!joinPartitions(split(partition), join, needsMore))
+                    return false;
+                continue;
+            }
+            HashMap<Object, List<B>> buildTable = new HashMap<>();
+            partition.build.read((key, value) -> buildTable.computeIfAbsent(key, k -> new ArrayList<>())
+                    .add((B) value), () -> true);
+            partition.probe.read((key, value) -> join.accept((P) value, buildTable.getOrDefault(key, List.of())),
+                    needsMore);
+            partition.build.delete();
+            partition.probe.delete();
+            if (!needsMore.getAsBoolean())
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Distributes the records of a partition onto partitions of the next level
+     * without deserializing them, and deletes its files.
+     */
+    private Partition[] split(Partition partition) {
+        int level = partition.level + 1;
+        Partition[] split = newPartitions(level);
+        partition.build.readRecords((hash, record) -> split[index(hash, level)].build.write(hash, record));
+        partition.probe.readRecords((hash, record) -> split[index(hash, level)].probe.write(hash, record));
+        partition.build.delete();
+        partition.probe.delete();
+        return split;
+    }
+
+    private void spill() {
+        files = new ArrayList<>();
+        partitions = newPartitions(0);
+        table.forEach((key, values) -> {
+            for (B value : values)
+                write(key, value, true);
+        });
+        table = null;
+    }
+
+    private Partition[] newPartitions(int level) {
+        Partition[] created = new Partition[PARTITIONS];
+        for (int i = 0; i < PARTITIONS; i++)
+            created[i] = new Partition(level, newFile(), newFile());
+        return created;
+    }
+
+    private SpillFile newFile() {
+        SpillFile file = new SpillFile();
+        files.add(file);
+        return file;
+    }
+
+    private static int hash(Object key) {
+        int h = Objects.hashCode(key);
+        return h ^ (h >>> 16);
+    }
+
+    private static int index(int hash, int level) {
+        return (hash >>> (level * PARTITION_BITS)) & (PARTITIONS - 1);
+    }
+
+    private void write(Object key, Object value, boolean build) {
+        byte[] record;
+        try {
+            record = serialize(key, value);
+        } catch (NotSerializableException e) {
+            failures.add(e);
+            return;
+        }
+        int hash = hash(key);
+        Partition partition = partitions[index(hash, 0)];
+        (build ? partition.build : partition.probe).write(hash, record);
+    }
+
+    private static byte[] serialize(Object key, Object value) throws NotSerializableException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(key);
+            out.writeObject(value);
+        } catch (NotSerializableException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Deletes all temporary files, may be called more than once.
+     */
+    @Override
+    public void close() {
+        if (files == null)
+            return;
+        List<SpillFile> spilled = files;
+        files = null;
+        partitions = null;
+        UncheckedIOException failure = null;
+        for (SpillFile file : spilled) {
+            try {
+                file.delete();
+            } catch (UncheckedIOException e) {
+                if (failure == null)
+                    failure = e;
+                else
+                    failure.addSuppressed(e);
+            }
+        }
+        if (failure != null)
+            throw failure;
+    }
+
+    private static final class Partition {
+
+        final int level;
+        final SpillFile build;
+        final SpillFile probe;
+
+        Partition(int level, SpillFile build, SpillFile probe) {
+            this.level = level;
+            this.build = build;
+            this.probe = probe;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordConsumer {
+        void accept(int hash, byte[] record) throws IOException;
+    }
+
+    /**
+     * Holds records of a serialized key and value, each preceded by the hash of
+     * the key, so that records can be moved to other partitions as they are.
+     */
+    private static final class SpillFile {
+
+        private final Path path;
+        private DataOutputStream out;
+        long records;
+
+        SpillFile() {
+            try {
+                path = Files.createTempFile("tolerant-join", ".bin");
+                out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void write(int hash, byte[] record) {
+            try {
+                out.writeInt(hash);
+                out.writeInt(record.length);
+                out.write(record);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            records++;
+        }
+
+        void close() {
+            try {
+                out.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void read(BiConsumer<Object, Object> consumer, BooleanSupplier needsMore) {
+            readRecords((hash, record) -> {
+                try (ObjectInputStream recordIn = new ObjectInputStream(new ByteArrayInputStream(record))) {
+                    consumer.accept(recordIn.readObject(), recordIn.readObject());
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException(e);
+                }
+            }, needsMore);
+        }
+
+        void readRecords(RecordConsumer consumer) {
+            readRecords(consumer, () -> true);
+        }
+
+        private void readRecords(RecordConsumer consumer, BooleanSupplier needsMore) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+                while (needsMore.getAsBoolean()) {
+                    int hash;
+                    try {
+                        hash = in.readInt();
+                    } catch (EOFException e) {
+                        return;
+                    }
+                    byte[] record = new byte[in.readInt()];
+                    in.readFully(record);
+                    consumer.accept(hash, record);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void delete() {
+            try {
+                try {
+                    out.close();
+                } finally {
+                    Files.deleteIfExists(path);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded lock-free queue for exactly one producer and one consumer thread.
+ */
+final class SpscQueue<E> {
+
+    private final Object[] buffer;
+    private final int mask;
+    private final int capacity;
+    /** index of the next element to poll, only written by the consumer */
+    private final AtomicLong head = new AtomicLong();
+    /** index of the next element to offer, only written by the producer */
+    private final AtomicLong tail = new AtomicLong();
+    /** last head seen by the producer, only read again once the queue looks full */
+    private long headCache;
+    /** last tail seen by the consumer, only read again once the queue looks empty */
+    private long tailCache;
+
+    SpscQueue(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30)
+            throw new IllegalArgumentException("capacity out of range: " + capacity);
+        // the buffer is rounded up for masking, but never holds more than capacity
+        int size = 1;
+        while (size < capacity)
+            size <<= 1;
+        buffer = new Object[size];
+        mask = size - 1;
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return false if the queue is full
+     */
+    boolean offer(E e) {
+        long t = tail.get();
+        if (t - headCache == capacity) {
+            headCache = head.get();
+            if (t - headCache == capacity)
+                return false;
+        }
+        buffer[(int) t & mask] = e;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * @return the next element, or null if the queue is empty
+     */
+    E poll() {
+        long h = head.get();
+        if (h == tailCache) {
+            tailCache = tail.get();
+            if (h == tailCache)
+                return null;
+        }
+        int index = (int) h & mask;
+        @SuppressWarnings("unchecked")
+        E e = (E) buffer[index];
+        buffer[index] = null;
+        head.lazySet(h + 1);
+        return e;
+    }
+
+    boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+}
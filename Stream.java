@@ -1,12 +1,22 @@
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
 
 /**
  * Exception-fangende Stream Implementierung
@@ -73,6 +83,147 @@ public interface Stream<T> {
      */
     Stream<T> filterChecked(ThrowingPredicate<? super T> filter);
 
+    /**
+     * Siehe {@link #map(Function)}, jedoch liefert mapper ein {@link Result}. Ein
+     * fehlerhaftes Result wird als fehlerhaftes Element durch den Stream gereicht,
+     * ohne dass dafür eine Exception erzeugt wird. Erst wenn die Exceptions
+     * benötigt werden, etwa bei {@link #onErrorMap(Function)} oder für eine
+     * {@link ErrorsAtTerminalOperationException}, entsteht daraus jeweils eine
+     * {@link ResultException}. Das ist deutlich günstiger als eine Exception in
+     * {@link #mapChecked(ThrowingFunction)} zu werfen, wenn viele Elemente
+     * fehlerhaft sind. Wie bei {@link #map(Function)} bleibt der Stream dabei
+     * ein "Checked Stream" genau dann, wenn er es vorher war.
+     *
+     * @throws NullPointerException falls mapper null ist
+     * @see #map(Function)
+     */
+    <R> Stream<R> mapResult(Function<? super T, ? extends Result<? extends R>> mapper);
+
+    /**
+     * Siehe {@link #filter(Predicate)}, jedoch liefert filter ein {@link Result}.
+     * Ein erfolgreiches Result mit dem Wert true behält das Element, ein
+     * fehlerhaftes wird wie bei {@link #mapResult(Function)} als fehlerhaftes
+     * Element durch den Stream gereicht.
+     *
+     * @throws NullPointerException falls filter null ist
+     * @see #filter(Predicate)
+     */
+    Stream<T> filterResult(Function<? super T, Result<Boolean>> filter);
+
+    /**
+     * Ersetzt jedes Element des Streams durch die Elemente des Streams, den mapper
+     * dafür liefert. Die inneren Streams werden erst bei Bedarf ausgewertet und
+     * ihre Elemente ohne Zwischenspeicherung direkt weitergereicht; werden keine
+     * weiteren Elemente benötigt, wird die Expansion sofort abgebrochen.
+     * Fehlerhafte Elemente werden einfach weitergereicht, liefert mapper null, so
+     * wird das Element durch keine Elemente ersetzt.
+     * <p>
+     * Tritt bei mapper oder bei der Auswertung eines inneren Streams ein Fehler
+     * auf, so wird dieser als fehlerhaftes Element durch den Stream gereicht und
+     * mit dem nächsten Element fortgefahren. Bereits weitergereichte Elemente des
+     * inneren Streams bleiben davon unberührt. Ist ein innerer Stream ein
+     * "Checked Stream", so wird dieser Stream ab dann ebenfalls einer: Hat er bis
+     * zur terminalen Operation keine Fehlerbehandlung wie
+     * {@link #onErrorFilter()}, so wird dort eine {@link CheckedStreamException}
+     * geworfen.
+     *
+     * @param <R>    der Typ der Elemente des Streams nach flatMap
+     * @param mapper die Funktion, die jedes Element vom Typ T (oder einer
+     *               Oberklasse davon) auf einen Stream vom Typ R (oder einer
+     *               Unterklasse davon) abbildet. Die zurückgegebenen Streams
+     *               werden dabei konsumiert.
+     * @return einen Stream vom Typ R
+     * @throws NullPointerException falls mapper null ist
+     * @throws IllegalStateException bei der Auswertung, falls mapper einen bereits
+     *                               konsumierten Stream zurückgibt
+     */
+    <R> Stream<R> flatMap(Function<? super T, ? extends Stream<? extends R>> mapper);
+
+    /**
+     * Siehe {@link #flatMap(Function)}, jedoch kann mapper beliebige Exceptions
+     * werfen.
+     * <p>
+     * <b>Diese Stream Operation verwandelt den Stream in einen "Checked
+     * Stream".</b>
+     *
+     * @throws NullPointerException falls mapper null ist
+     * @see #flatMap(Function)
+     */
+    <R> Stream<R> flatMapChecked(ThrowingFunction<? super T, ? extends Stream<? extends R>> mapper);
+
+    /**
+     * Verknüpft die Elemente dieses Streams mit den Elementen des Streams other,
+     * deren Schlüssel gleich sind (Inner Join). Für jedes passende Paar wird das
+     * Ergebnis des combiners weitergereicht. Dazu wird aus einer Seite eine
+     * Hash-Tabelle aufgebaut; das ist other, außer die Größe beider Streams ist
+     * bekannt und dieser Stream ist kleiner. Die Ergebnisse folgen der
+     * Reihenfolge der anderen Seite, im zweiten Fall also der von other.
+     * <p>
+     * Fehlerhafte Elemente beider Seiten werden einfach weitergereicht. Tritt bei
+     * keyA, keyB oder combiner ein Fehler auf, so wird dieser als fehlerhaftes
+     * Element durch den Stream gereicht. Der Stream other wird dabei konsumiert,
+     * ist er ein "Checked Stream", so ist es das Ergebnis auch.
+     * <p>
+     * Enthält die Hash-Tabelle mehr als 2<sup>20</sup> Elemente, werden beide
+     * Seiten nach Schlüssel partitioniert in temporäre Dateien ausgelagert und
+     * anschließend partitionsweise verknüpft. Eine Partition, die selbst noch zu
+     * groß ist, wird dabei weiter aufgeteilt; nur Schlüssel mit gleichem
+     * Hash-Wert bleiben immer zusammen. Die Elemente und Schlüssel müssen
+     * dafür serialisierbar sein, andernfalls werden sie zu fehlerhaften Elementen;
+     * die Reihenfolge der Ergebnisse ist dann nicht mehr festgelegt.
+     *
+     * @param <U>      der Typ der Elemente von other
+     * @param <R>      der Typ der Elemente nach join
+     * @param other    der Stream, mit dem verknüpft wird
+     * @param keyA     die Funktion, die den Schlüssel eines Elements dieses
+     *                 Streams bestimmt
+     * @param keyB     die Funktion, die den Schlüssel eines Elements von other
+     *                 bestimmt
+     * @param combiner die Funktion, die ein passendes Paar zu einem Element
+     *                 verknüpft
+     * @return einen Stream vom Typ R
+     * @throws NullPointerException falls other, keyA, keyB oder combiner null ist
+     */
+    <U, R> Stream<R> join(Stream<U> other, Function<? super T, ?> keyA, Function<? super U, ?> keyB,
+                          BiFunction<? super T, ? super U, ? extends R> combiner);
+
+    /**
+     * Siehe {@link #join(Stream, Function, Function, BiFunction)}, jedoch wird
+     * ausgelagert, sobald die Hash-Tabelle mehr als inMemoryLimit Elemente
+     * enthält.
+     *
+     * @param inMemoryLimit die Anzahl der Elemente, nicht deren Größe in Bytes,
+     *                      ab der ausgelagert wird
+     * @throws IllegalArgumentException falls inMemoryLimit nicht positiv ist
+     * @see #join(Stream, Function, Function, BiFunction)
+     */
+    <U, R> Stream<R> join(Stream<U> other, Function<? super T, ?> keyA, Function<? super U, ?> keyB,
+                          BiFunction<? super T, ? super U, ? extends R> combiner, int inMemoryLimit);
+
+    /**
+     * Siehe {@link #join(Stream, Function, Function, BiFunction)}, jedoch wird
+     * jedes Element dieses Streams, zu dem es kein passendes Element in other
+     * gibt, mit null als zweitem Parameter an den combiner übergeben (Left Outer
+     * Join). Die Hash-Tabelle wird dabei immer aus other aufgebaut.
+     *
+     * @see #join(Stream, Function, Function, BiFunction)
+     */
+    <U, R> Stream<R> leftOuterJoin(Stream<U> other, Function<? super T, ?> keyA, Function<? super U, ?> keyB,
+                                   BiFunction<? super T, ? super U, ? extends R> combiner);
+
+    /**
+     * Siehe {@link #leftOuterJoin(Stream, Function, Function, BiFunction)}, jedoch
+     * wird ausgelagert, sobald die Hash-Tabelle mehr als inMemoryLimit Elemente
+     * enthält.
+     *
+     * @param inMemoryLimit die Anzahl der Elemente, nicht deren Größe in Bytes,
+     *                      ab der ausgelagert wird
+     * @throws IllegalArgumentException falls inMemoryLimit nicht positiv ist
+     * @see #leftOuterJoin(Stream, Function, Function, BiFunction)
+     */
+    <U, R> Stream<R> leftOuterJoin(Stream<U> other, Function<? super T, ?> keyA, Function<? super U, ?> keyB,
+                                   BiFunction<? super T, ? super U, ? extends R> combiner, int inMemoryLimit);
+
     /**
      * Eliminiert Duplikate aus dem Stream, fehlerhafte Elemente sind davon nicht
      * betroffen. Die Reihenfolge der Elemente verändert sich dabei nicht, bei
@@ -81,6 +232,12 @@ public interface Stream<T> {
      * diese nicht anders als normale Elemente behandelt, der Ergebnis-Stream
      * enthält maximal ein null Element.
      * <p>
+     * Die Elemente werden sofort weitergereicht. Ist der Stream natürlich
+     * sortiert und ist diese Ordnung konsistent mit equals (z.B. bei
+     * {@link String}, {@link Integer} oder Enums, nicht aber bei
+     * {@link java.math.BigDecimal}), so werden nur benachbarte Elemente verglichen
+     * und es muss sich nur das jeweils vorherige Element gemerkt werden.
+     * <p>
      * Beispiel: aus
      *
      * <pre>
@@ -97,6 +254,151 @@ public interface Stream<T> {
      */
     Stream<T> distinct();
 
+    /**
+     * Eliminiert Elemente aus dem Stream, deren Schlüssel bereits vorkam, nur das
+     * erste Element je Schlüssel wird behalten. Fehlerhafte Elemente werden
+     * einfach weitergereicht. Tritt bei keyFn ein Fehler auf, so
+     * wird dieser als fehlerhaftes Element durch den Stream gereicht.
+     * <p>
+     * Alle Schlüssel werden bis zum Ende gemerkt; für unbegrenzte Streams siehe
+     * {@link #distinctBy(Function, Duration)} und
+     * {@link #distinctBy(Function, int)}.
+     *
+     * @param keyFn die Funktion, die den Schlüssel eines Elements bestimmt
+     * @return einen Stream selben Typs
+     * @throws NullPointerException falls keyFn null ist
+     */
+    Stream<T> distinctBy(Function<? super T, ?> keyFn);
+
+    /**
+     * Siehe {@link #distinctBy(Function)}, zusätzlich werden die gemerkten
+     * Schlüssel in metrics gezählt.
+     *
+     * @throws NullPointerException falls keyFn oder metrics null ist
+     * @see #distinctBy(Function)
+     */
+    Stream<T> distinctBy(Function<? super T, ?> keyFn, DistinctMetrics metrics);
+
+    /**
+     * Siehe {@link #distinctBy(Function)}, jedoch wird ein Schlüssel nach Ablauf
+     * von ttl seit seinem ersten Auftreten wieder vergessen, ein späteres Element
+     * mit diesem Schlüssel wird dann erneut weitergereicht.
+     *
+     * @throws NullPointerException     falls keyFn oder ttl null ist
+     * @throws IllegalArgumentException falls ttl nicht positiv ist
+     * @see #distinctBy(Function)
+     */
+    Stream<T> distinctBy(Function<? super T, ?> keyFn, Duration ttl);
+
+    /**
+     * Siehe {@link #distinctBy(Function, Duration)}, zusätzlich werden die
+     * gemerkten und vergessenen Schlüssel in metrics gezählt.
+     *
+     * @throws NullPointerException     falls keyFn, ttl oder metrics null ist
+     * @throws IllegalArgumentException falls ttl nicht positiv ist
+     * @see #distinctBy(Function, Duration)
+     */
+    Stream<T> distinctBy(Function<? super T, ?> keyFn, Duration ttl, DistinctMetrics metrics);
+
+    /**
+     * Siehe {@link #distinctBy(Function)}, jedoch werden höchstens maxKeys
+     * Schlüssel gemerkt. Bei Bedarf wird der Schlüssel vergessen, der am längsten
+     * nicht mehr vorkam, ein späteres Element mit diesem Schlüssel wird dann
+     * erneut weitergereicht.
+     *
+     * @throws NullPointerException     falls keyFn null ist
+     * @throws IllegalArgumentException falls maxKeys nicht positiv ist
+     * @see #distinctBy(Function)
+     */
+    Stream<T> distinctBy(Function<? super T, ?> keyFn, int maxKeys);
+
+    /**
+     * Siehe {@link #distinctBy(Function, int)}, zusätzlich werden die gemerkten
+     * und vergessenen Schlüssel in metrics gezählt.
+     *
+     * @throws NullPointerException     falls keyFn oder metrics null ist
+     * @throws IllegalArgumentException falls maxKeys nicht positiv ist
+     * @see #distinctBy(Function, int)
+     */
+    Stream<T> distinctBy(Function<? super T, ?> keyFn, int maxKeys, DistinctMetrics metrics);
+
+    /**
+     * Ersetzt jedes Element durch den bis dahin akkumulierten Wert, beginnend mit
+     * identity. Der akkumulierte Wert wird als erster Parameter an accumulator
+     * übergeben, das Element an zweiter Stelle; identity selbst wird nicht
+     * weitergereicht. Es wird sich nur der aktuelle Wert gemerkt.
+     * <p>
+     * Fehlerhafte Elemente werden einfach weitergereicht und nicht akkumuliert.
+     * Tritt bei accumulator ein Fehler auf, so wird dieser als fehlerhaftes
+     * Element durch den Stream gereicht und mit dem bisherigen Wert fortgefahren.
+     * <p>
+     * Beispiel: aus [1, 2, {fehlerhaft}, 3] wird mit scan(0, Integer::sum)
+     * [1, 3, {fehlerhaft}, 6].
+     *
+     * @param <R>         der Typ des akkumulierten Werts
+     * @param identity    der Startwert, darf null sein
+     * @param accumulator die Funktion, die den akkumulierten Wert mit einem
+     *                    Element kombiniert
+     * @return einen Stream mit den Zwischenständen
+     * @throws NullPointerException falls accumulator null ist
+     */
+    <R> Stream<R> scan(R identity, BiFunction<? super R, ? super T, ? extends R> accumulator);
+
+    /**
+     * Akkumuliert die Elemente wie {@link #reduce(BinaryOperator)}, reicht aber
+     * nach jeweils emitEvery Elementen einen {@link RunningSnapshot} mit dem
+     * bisherigen Wert weiter und einen letzten am Ende des Streams, falls seit
+     * dem vorherigen neue Elemente hinzugekommen sind. Es wird sich nur der
+     * aktuelle Wert gemerkt.
+     * <p>
+     * Fehlerhafte Elemente und solche, bei denen accumulator einen Fehler wirft,
+     * werden übersprungen und nur in den Snapshots gezählt. Das Ergebnis ist daher
+     * nie ein "Checked Stream".
+     *
+     * @param accumulator ein Akkumulator für Elemente vom Typ T
+     * @param emitEvery   die Anzahl der Elemente, fehlerhafte eingeschlossen,
+     *                    nach denen jeweils ein Snapshot weitergereicht wird
+     * @return einen Stream mit den Snapshots
+     * @throws NullPointerException     falls accumulator null ist
+     * @throws IllegalArgumentException falls emitEvery nicht positiv ist
+     */
+    Stream<RunningSnapshot<T>> runningReduce(BinaryOperator<T> accumulator, int emitEvery);
+
+    /**
+     * Siehe {@link #runningReduce(BinaryOperator, int)}, jedoch wird ein Snapshot
+     * weitergereicht, sobald seit dem vorherigen mindestens emitEvery vergangen
+     * ist. Geprüft wird das beim Eintreffen eines Elements, kommen keine Elemente
+     * an, so werden auch keine Snapshots weitergereicht.
+     *
+     * @throws NullPointerException     falls accumulator oder emitEvery null ist
+     * @throws IllegalArgumentException falls emitEvery nicht positiv ist
+     * @see #runningReduce(BinaryOperator, int)
+     */
+    Stream<RunningSnapshot<T>> runningReduce(BinaryOperator<T> accumulator, Duration emitEvery);
+
+    /**
+     * Verteilt die Elemente anhand ihres Schlüssels auf lanes Threads, die jeweils
+     * eine eigene Kopie aller nachfolgenden Stream-Operationen ausführen. Elemente
+     * mit gleichem Schlüssel landen immer auf demselben Thread, ihre Reihenfolge
+     * bleibt also erhalten; die Reihenfolge von Elementen mit unterschiedlichen
+     * Schlüsseln ist dagegen nicht mehr festgelegt. Die Ergebnisse aller Threads
+     * werden von der terminalen Stream-Operation zusammengeführt.
+     * <p>
+     * Zustandsbehaftete nachfolgende Operationen arbeiten je Thread, so erkennt
+     * z.B. {@link #distinct()} Duplikate nur, wenn gleiche Elemente auch gleiche
+     * Schlüssel haben. Fehlerhafte Elemente werden einfach weitergereicht. Tritt
+     * bei keyFn ein Fehler auf, so wird dieser als fehlerhaftes Element durch den
+     * Stream gereicht. Wird in einem der Threads eine Exception geworfen, so wird
+     * diese von der terminalen Stream-Operation geworfen.
+     *
+     * @param keyFn die Funktion, die den Schlüssel eines Elements bestimmt
+     * @param lanes die Anzahl der Threads
+     * @return einen Stream selben Typs
+     * @throws NullPointerException     falls keyFn null ist
+     * @throws IllegalArgumentException falls lanes nicht positiv ist
+     */
+    Stream<T> partitionBy(Function<? super T, ?> keyFn, int lanes);
+
     /**
      * Gibt die Anzahl an Elementen im Stream zurück. Ist die Größe des Streams
      * bekannt, wird das Ergebnis sofort zurückgegeben, ohne das Elemente den Stream
@@ -156,6 +458,94 @@ public interface Stream<T> {
      */
     Optional<T> reduce(BinaryOperator<T> accumulator);
 
+    /**
+     * Gibt das kleinste Element im Stream bezüglich des comparators zurück. Ist der
+     * Stream leer, so wird Optional.empty() zurückgegeben.
+     * <p>
+     * <b>Dies ist eine terminale Stream-Operation.</b>
+     *
+     * @throws NullPointerException               falls comparator oder das
+     *                                            Resultat null ist
+     * @throws ErrorsAtTerminalOperationException falls irgendein Element fehlerhaft
+     *                                            ist
+     * @throws CheckedStreamException             falls der Stream an dem Punkt ein
+     *                                            "Checked Stream" ist
+     * @see #reduce(BinaryOperator)
+     */
+    Optional<T> min(Comparator<? super T> comparator);
+
+    /**
+     * Gibt das größte Element im Stream bezüglich des comparators zurück. Ist der
+     * Stream leer, so wird Optional.empty() zurückgegeben.
+     * <p>
+     * <b>Dies ist eine terminale Stream-Operation.</b>
+     *
+     * @throws NullPointerException               falls comparator oder das
+     *                                            Resultat null ist
+     * @throws ErrorsAtTerminalOperationException falls irgendein Element fehlerhaft
+     *                                            ist
+     * @throws CheckedStreamException             falls der Stream an dem Punkt ein
+     *                                            "Checked Stream" ist
+     * @see #reduce(BinaryOperator)
+     */
+    Optional<T> max(Comparator<? super T> comparator);
+
+    /**
+     * Gibt die k größten Elemente im Stream bezüglich des comparators absteigend
+     * sortiert zurück. Enthält der Stream weniger als k Elemente, so werden alle
+     * zurückgegeben. Es werden dabei nie mehr als k Elemente gleichzeitig
+     * gespeichert.
+     * <p>
+     * Fehlerhafte Elemente können vorher z.B. mit
+     * {@link #onErrorFilter(LongAdder)} gezählt und entfernt werden.
+     * <p>
+     * <b>Dies ist eine terminale Stream-Operation.</b>
+     *
+     * @param k          die maximale Anzahl zurückgegebener Elemente
+     * @param comparator die Ordnung der Elemente
+     * @return eine neue Liste mit den höchstens k größten Elementen
+     * @throws NullPointerException               falls comparator oder eines der
+     *                                            Elemente null ist
+     * @throws IllegalArgumentException           falls k negativ ist
+     * @throws ErrorsAtTerminalOperationException falls irgendein Element fehlerhaft
+     *                                            ist
+     * @throws CheckedStreamException             falls der Stream an dem Punkt ein
+     *                                            "Checked Stream" ist
+     */
+    List<T> topK(int k, Comparator<? super T> comparator);
+
+    /**
+     * Siehe {@link #topK(int, Comparator)}, jedoch werden die k kleinsten Elemente
+     * aufsteigend sortiert zurückgegeben.
+     * <p>
+     * <b>Dies ist eine terminale Stream-Operation.</b>
+     *
+     * @see #topK(int, Comparator)
+     */
+    List<T> bottomK(int k, Comparator<? super T> comparator);
+
+    /**
+     * Schätzt das p-Quantil der Werte, die valueFn für die Elemente des Streams
+     * liefert. Der Speicherbedarf ist dabei unabhängig von der Anzahl der
+     * Elemente, bei bis zu fünf Elementen ist das Ergebnis exakt. Ist der Stream
+     * leer, so wird OptionalDouble.empty() zurückgegeben.
+     * <p>
+     * <b>Dies ist eine terminale Stream-Operation.</b>
+     *
+     * @param p       das gesuchte Quantil zwischen 0 und 1, z.B. 0.5 für den
+     *                Median
+     * @param valueFn die Funktion, die den Wert eines Elements bestimmt
+     * @return die Schätzung des Quantils, falls vorhanden.
+     * @throws NullPointerException               falls valueFn null ist
+     * @throws IllegalArgumentException           falls p nicht zwischen 0 und 1
+     *                                            liegt
+     * @throws ErrorsAtTerminalOperationException falls irgendein Element fehlerhaft
+     *                                            ist
+     * @throws CheckedStreamException             falls der Stream an dem Punkt ein
+     *                                            "Checked Stream" ist
+     */
+    OptionalDouble quantile(double p, ToDoubleFunction<? super T> valueFn);
+
     /**
      * Sammelt alle Elemente in einer Collection, die aus dem übergebenen
      * collectionGenerator neu erzeugt bzw. genommen wird.
@@ -173,6 +563,67 @@ public interface Stream<T> {
      */
     Collection<T> toCollection(Supplier<? extends Collection<T>> collectionGenerator);
 
+    /**
+     * Wertet alle übergebenen terminalen Stream-Operationen in einem einzigen
+     * Durchlauf aus, jedes Element wird also nur einmal gelesen und an alle
+     * Operationen weitergereicht, die noch Elemente benötigen. Der Stream wird
+     * solange ausgewertet, bis keine der Operationen mehr Elemente benötigt.
+     * <p>
+     * <b>Dies ist eine terminale Stream-Operation.</b>
+     *
+     * @param terminals die auszuwertenden terminalen Stream-Operationen
+     * @return die Ergebnisse aller übergebenen Operationen
+     * @throws NullPointerException               falls terminals oder eines
+     *                                            seiner Elemente null ist
+     * @throws IllegalArgumentException           falls eine Operation mehrfach
+     *                                            übergeben wird
+     * @throws ErrorsAtTerminalOperationException falls eine der Operationen ein
+     *                                            fehlerhaftes Element verarbeiten
+     *                                            müsste
+     * @throws CheckedStreamException             falls der Stream an dem Punkt ein
+     *                                            "Checked Stream" ist
+     * @see Terminal
+     */
+    TerminalResults evaluateAll(List<? extends Terminal<? super T, ?>> terminals);
+
+    /**
+     * Wertet die übergebene terminale Stream-Operation aus, bricht die Auswertung
+     * aber ab, sobald token abgebrochen ist. Geprüft wird das vor jedem Element
+     * der Quelle; die Frist eines Tokens wird dabei etwa alle 100 µs, spätestens
+     * aber alle 16 Elemente mit der Uhr verglichen. Nach einem Abbruch wird die
+     * Auswertung regulär beendet, das Ergebnis bezieht sich dann nur auf die
+     * bis dahin gelesenen Elemente. Eine Quelle, die auf Elemente wartet, etwa
+     * bei {@link #prefetch(Stream, int)}, kann den Abbruch bis zum nächsten Element
+     * verzögern.
+     * <p>
+     * <b>Dies ist eine terminale Stream-Operation.</b>
+     *
+     * @param terminal die auszuwertende terminale Stream-Operation
+     * @param token    das Token, mit dem die Auswertung abgebrochen werden kann,
+     *                 siehe auch {@link CancellationToken#withDeadline(java.time.Duration)}
+     * @return das (Teil-)Ergebnis mit der Anzahl der gelesenen Elemente
+     * @throws NullPointerException               falls terminal oder token null
+     *                                            ist
+     * @throws ErrorsAtTerminalOperationException falls die Operation ein
+     *                                            fehlerhaftes Element verarbeiten
+     *                                            müsste
+     * @throws CheckedStreamException             falls der Stream an dem Punkt ein
+     *                                            "Checked Stream" ist
+     */
+    <R> PartialResult<R> evaluate(Terminal<? super T, R> terminal, CancellationToken token);
+
+    /**
+     * Speichert alle Elemente des Streams einschließlich der fehlerhaften
+     * zwischen, sodass sie beliebig oft mit neuen Streams durchlaufen werden
+     * können. Die neuen Streams haben dieselben Eigenschaften wie dieser Stream,
+     * ist er ein "Checked Stream", so sind sie es also auch.
+     * <p>
+     * <b>Dies ist eine terminale Stream-Operation.</b>
+     *
+     * @return die zwischengespeicherten Elemente
+     */
+    CachedStream<T> cache();
+
     /**
      * Transformiert alle fehlerhaften Elemente des Streams zu regulären, nicht
      * fehlerhaften Elementen mithilfe der übergebenen Function. Die Transformation
@@ -215,12 +666,27 @@ public interface Stream<T> {
      */
     Stream<T> onErrorFilter();
 
+    /**
+     * Siehe {@link #onErrorFilter()}, jedoch wird für jedes herausgefilterte
+     * Element errorCount erhöht.
+     *
+     * @param errorCount der Zähler für die herausgefilterten Elemente
+     * @throws NullPointerException falls errorCount null ist
+     * @see #onErrorFilter()
+     */
+    Stream<T> onErrorFilter(LongAdder errorCount);
+
     /**
      * Erzeugt einen neuen Stream, der den übergebenen Stream nutzt
+     *
+     * @implSpec die Größe, Sortierung und Duplikat-Freiheit des übergebenen Streams
+     *           werden übernommen, soweit sie bekannt sind, und davon abhängige
+     *           Operationen nutzten diese Information zur Optimierung
      */
     static <T> Stream<T> of(java.util.stream.Stream<T> javaStream) {
         Objects.requireNonNull(javaStream, "javaStream");
-        return new SourcePart<>(StreamIterator.of(javaStream));
+        Spliterator<T> spliterator = javaStream.spliterator();
+        return new SourcePart<>(StreamIterator.of(spliterator), StreamCharacteristics.of(spliterator));
     }
 
     /**
@@ -232,7 +698,8 @@ public interface Stream<T> {
      */
     static <T> Stream<T> of(Collection<T> col) {
         Objects.requireNonNull(col, "col");
-        return new SourcePart<>(StreamIterator.of(col));
+        return new SourcePart<>(StreamIterator.of(col),
+                StreamCharacteristics.of(col.spliterator()).withStreamSize(OptionalLong.of(col.size())));
     }
 
     /**
@@ -240,12 +707,15 @@ public interface Stream<T> {
      *
      * @throws NullPointerException falls das Set null ist
      * @implSpec die Größe des erzeugten Streams und dessen Duplikat-Freiheit ist
-     *           bekannt und davon abhängige Operationen nutzten diese Information
-     *           zur Optimierung
+     *           bekannt, bei einem {@link SortedSet} mit natürlicher Ordnung auch
+     *           dessen Sortierung, und
+     *           davon abhängige Operationen nutzten diese Information zur
+     *           Optimierung
      */
     static <T> Stream<T> of(Set<T> set) {
         Objects.requireNonNull(set, "set");
-        return new SourcePart<>(StreamIterator.of(set), new StreamCharacteristics(set.size(), true, false));
+        return new SourcePart<>(StreamIterator.of(set), new StreamCharacteristics(set.size(), true, false)
+                .withSorted(set instanceof SortedSet && ((SortedSet<T>) set).comparator() == null));
     }
 
     /**
@@ -260,4 +730,117 @@ public interface Stream<T> {
         Objects.requireNonNull(elements, "elements");
         return new SourcePart<>(StreamIterator.of(elements));
     }
+
+    /**
+     * Erzeugt einen neuen Stream, der die Elemente der übergebenen Streams
+     * nacheinander enthält. Die Streams werden dabei direkt hintereinander
+     * ausgelesen und konsumiert.
+     *
+     * @throws NullPointerException     falls das Array oder einer der Streams null
+     *                                  ist
+     * @throws IllegalArgumentException falls auf einen der Streams bereits eine
+     *                                  Stream-Operation angewendet wurde
+     * @throws IllegalStateException    falls einer der Streams bereits konsumiert
+     *                                  wurde
+     * @implSpec ist die Größe aller Streams bekannt, so ist die Größe des erzeugten
+     *           Streams deren Summe
+     */
+    @SafeVarargs
+    static <T> Stream<T> concat(Stream<? extends T>... streams) {
+        Objects.requireNonNull(streams, "streams");
+        // copied element by element, so that the varargs array does not escape
+        List<Stream<? extends T>> list = new ArrayList<>(streams.length);
+        for (Stream<? extends T> stream : streams)
+            list.add(Objects.requireNonNull(stream, "stream"));
+        return SourcePart.concat(list);
+    }
+
+    /**
+     * Siehe {@link #merge(List, int, MergeOrder)}, die Elemente werden in der
+     * Reihenfolge weitergereicht, in der sie gelesen wurden.
+     *
+     * @see #merge(List, int, MergeOrder)
+     */
+    static <T> Stream<T> merge(List<? extends Stream<? extends T>> streams, int parallelism) {
+        return merge(streams, parallelism, MergeOrder.ARRIVAL);
+    }
+
+    /**
+     * Erzeugt einen neuen Stream, der die Elemente der übergebenen Streams
+     * enthält. Dabei werden bis zu parallelism Streams gleichzeitig auf eigenen
+     * Threads in begrenzte Puffer gelesen und ihre Elemente in der durch order
+     * festgelegten Reihenfolge weitergereicht. Die Reihenfolge der Elemente eines
+     * einzelnen Streams bleibt immer erhalten.
+     * <p>
+     * Tritt beim Lesen eines Elements ein Fehler auf, so wird dieser als
+     * fehlerhaftes Element durch den Stream gereicht und das Lesen dieses Streams
+     * beendet, die übrigen Streams sind davon nicht betroffen. Ein {@link Error}
+     * wird geworfen, sobald die zuvor gelesenen Elemente dieses Streams
+     * weitergereicht wurden.
+     *
+     * @throws NullPointerException     falls die Liste, einer der Streams oder
+     *                                  order null ist
+     * @throws IllegalArgumentException falls parallelism nicht positiv ist oder auf
+     *                                  einen der Streams bereits eine
+     *                                  Stream-Operation angewendet wurde
+     * @throws IllegalStateException    falls einer der Streams bereits konsumiert
+     *                                  wurde
+     * @implSpec ist die Größe aller Streams bekannt, so ist die Größe des erzeugten
+     *           Streams deren Summe
+     */
+    static <T> Stream<T> merge(List<? extends Stream<? extends T>> streams, int parallelism, MergeOrder order) {
+        Objects.requireNonNull(streams, "streams");
+        Objects.requireNonNull(order, "order");
+        return SourcePart.merge(List.copyOf(streams), parallelism, order);
+    }
+
+    /**
+     * Erzeugt einen neuen Stream, der die Elemente von stream auf einem eigenen
+     * Thread im Voraus liest, sodass das Warten auf langsame Quellen und die
+     * Verarbeitung der Elemente parallel ablaufen. Es werden dabei höchstens
+     * capacity Elemente zwischengespeichert. Werden keine weiteren Elemente
+     * benötigt, wird das Lesen umgehend beendet.
+     * <p>
+     * Tritt beim Lesen eines Elements ein Fehler auf, so wird dieser als
+     * fehlerhaftes Element durch den Stream gereicht und das Lesen beendet. Ein
+     * {@link Error} wird geworfen, sobald die zuvor gelesenen Elemente
+     * weitergereicht wurden.
+     *
+     * @param stream   der im Voraus zu lesende Stream
+     * @param capacity die maximale Anzahl im Voraus gelesener Elemente
+     * @throws NullPointerException     falls stream null ist
+     * @throws IllegalArgumentException falls capacity nicht positiv oder größer als
+     *                                  2<sup>30</sup> ist oder auf stream bereits
+     *                                  eine Stream-Operation angewendet wurde
+     * @throws IllegalStateException    falls stream bereits konsumiert wurde
+     * @implSpec die Größe und Sortierung von stream bleiben bekannt
+     */
+    static <T> Stream<T> prefetch(Stream<T> stream, int capacity) {
+        Objects.requireNonNull(stream, "stream");
+        return SourcePart.prefetch(stream, capacity);
+    }
+
+    /**
+     * Erzeugt einen neuen Stream, der die Elemente beider Streams paarweise mit
+     * dem combiner kombiniert, bis einer der Streams keine Elemente mehr hat.
+     * Tritt bei combiner ein Fehler auf, so wird dieser als fehlerhaftes Element
+     * durch den Stream gereicht. Ist eines der beiden Elemente fehlerhaft, so ist
+     * auch das kombinierte Element fehlerhaft und enthält die Exceptions beider
+     * Elemente (zuerst die von a, dann die von b), das andere Element wird
+     * verworfen.
+     *
+     * @throws NullPointerException     falls a, b oder combiner null ist
+     * @throws IllegalArgumentException falls auf einen der Streams bereits eine
+     *                                  Stream-Operation angewendet wurde
+     * @throws IllegalStateException    falls einer der Streams bereits konsumiert
+     *                                  wurde
+     * @implSpec ist die Größe beider Streams bekannt, so ist die Größe des
+     *           erzeugten Streams deren Minimum
+     */
+    static <A, B, R> Stream<R> zip(Stream<A> a, Stream<B> b, BiFunction<? super A, ? super B, ? extends R> combiner) {
+        Objects.requireNonNull(a, "a");
+        Objects.requireNonNull(b, "b");
+        Objects.requireNonNull(combiner, "combiner");
+        return SourcePart.zip(a, b, combiner);
+    }
 }
\ No newline at end of file
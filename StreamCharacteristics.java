@@ -1,6 +1,7 @@
 
 
 import java.util.OptionalLong;
+import java.util.Spliterator;
 
 final class StreamCharacteristics {
 
@@ -8,18 +9,25 @@ final class StreamCharacteristics {
 
     private final OptionalLong streamSize;
     private final boolean isDistinct;
+    private final boolean isSorted;
+    private final boolean isNonNull;
     private final boolean isChecked;
 
-    StreamCharacteristics(OptionalLong streamSize, boolean isDistinct, boolean isChecked) {
+    StreamCharacteristics(OptionalLong streamSize, boolean isDistinct, boolean isSorted, boolean isNonNull,
+                          boolean isChecked) {
         this.streamSize = streamSize;
         this.isDistinct = isDistinct;
+        this.isSorted = isSorted;
+        this.isNonNull = isNonNull;
         this.isChecked = isChecked;
     }
 
+    StreamCharacteristics(OptionalLong streamSize, boolean isDistinct, boolean isChecked) {
+        this(streamSize, isDistinct, false, false, isChecked);
+    }
+
     StreamCharacteristics(long streamSize, boolean isDistinct, boolean isChecked) {
-        this.streamSize = OptionalLong.of(streamSize);
-        this.isDistinct = isDistinct;
-        this.isChecked = isChecked;
+        this(OptionalLong.of(streamSize), isDistinct, isChecked);
     }
 
     StreamCharacteristics(boolean isDistinct, boolean isChecked) {
@@ -34,27 +42,96 @@ final class StreamCharacteristics {
         return isDistinct;
     }
 
+    /**
+     * @return true if the elements are sorted by their natural ordering; equal
+     *         elements are only guaranteed to be adjacent if that ordering is
+     *         consistent with equals
+     */
+    boolean isSorted() {
+        return isSorted;
+    }
+
+    /**
+     * @return true if the elements are known not to be null, error elements
+     *         aside
+     */
+    boolean isNonNull() {
+        return isNonNull;
+    }
+
     boolean isChecked() {
         return isChecked;
     }
 
     StreamCharacteristics withStreamSize(OptionalLong streamSize) {
-        return new StreamCharacteristics(streamSize, isDistinct, isChecked);
+        return new StreamCharacteristics(streamSize, isDistinct, isSorted, isNonNull, isChecked);
     }
 
     StreamCharacteristics withUnknownStreamSize() {
-        return new StreamCharacteristics(isDistinct, isChecked);
+        return withStreamSize(OptionalLong.empty());
     }
 
     StreamCharacteristics withDistinct(boolean isDistinct) {
-        return new StreamCharacteristics(streamSize, isDistinct, isChecked);
+        return new StreamCharacteristics(streamSize, isDistinct, isSorted, isNonNull, isChecked);
+    }
+
+    StreamCharacteristics withSorted(boolean isSorted) {
+        return new StreamCharacteristics(streamSize, isDistinct, isSorted, isNonNull, isChecked);
+    }
+
+    StreamCharacteristics withNonNull(boolean isNonNull) {
+        return new StreamCharacteristics(streamSize, isDistinct, isSorted, isNonNull, isChecked);
     }
 
     StreamCharacteristics withChecked(boolean isChecked) {
-        return new StreamCharacteristics(streamSize, isDistinct, isChecked);
+        return new StreamCharacteristics(streamSize, isDistinct, isSorted, isNonNull, isChecked);
+    }
+
+    /**
+     * Characteristics of elements that are derived from the original ones by an
+     * arbitrary function, so nothing is known about their values anymore.
+     */
+    StreamCharacteristics withNewValues() {
+        return new StreamCharacteristics(streamSize, false, false, false, isChecked);
+    }
+
+    /**
+     * Characteristics of a stream containing the elements of this stream followed
+     * by the ones of the other stream.
+     */
+    StreamCharacteristics concat(StreamCharacteristics other) {
+        OptionalLong size = streamSize.isPresent() && other.streamSize.isPresent()
+                ? OptionalLong.of(streamSize.getAsLong() + other.streamSize.getAsLong())
+                : OptionalLong.empty();
+        return new StreamCharacteristics(size, false, false, isNonNull && other.isNonNull,
+                isChecked || other.isChecked);
+    }
+
+    /**
+     * Characteristics of a stream combining the elements of this stream pairwise
+     * with the ones of the other stream, until one of them is exhausted.
+     */
+    StreamCharacteristics zip(StreamCharacteristics other) {
+        OptionalLong size = streamSize.isPresent() && other.streamSize.isPresent()
+                ? OptionalLong.of(Math.min(streamSize.getAsLong(), other.streamSize.getAsLong()))
+                : OptionalLong.empty();
+        return new StreamCharacteristics(size, false, isChecked || other.isChecked);
     }
 
     static StreamCharacteristics regular() {
         return REGULAR;
     }
+
+    /**
+     * Takes over the size and the characteristics the spliterator reports.
+     */
+    static StreamCharacteristics of(Spliterator<?> spliterator) {
+        OptionalLong size = spliterator.hasCharacteristics(Spliterator.SIZED)
+                ? OptionalLong.of(spliterator.getExactSizeIfKnown())
+                : OptionalLong.empty();
+        // only the natural ordering is tracked, getComparator() is null for it
+        boolean sorted = spliterator.hasCharacteristics(Spliterator.SORTED) && spliterator.getComparator() == null;
+        return new StreamCharacteristics(size, spliterator.hasCharacteristics(Spliterator.DISTINCT), sorted,
+                spliterator.hasCharacteristics(Spliterator.NONNULL), false);
+    }
 }
@@ -7,11 +7,16 @@ import java.util.Objects;
 final class StreamElement<T> {
 
     private final T element;
-    private final List<Exception> exceptions;
+    /** {@link Exception}s or {@link Result.Failure}s */
+    private final List<Object> errors;
+    /** created on demand, since an exception is far more costly than a failure */
+    private List<Exception> exceptions;
 
-    private StreamElement(T element, List<Exception> exceptions) {
+    private StreamElement(T element, List<Object> errors) {
         this.element = element;
-        this.exceptions = exceptions;
+        this.errors = errors;
+        if (errors.isEmpty())
+            this.exceptions = List.of();
     }
 
     private StreamElement(T element) {
@@ -29,24 +34,78 @@ final class StreamElement<T> {
     }
 
     List<Exception> getExceptions() {
-        return exceptions;
+        List<Exception> result = exceptions;
+        if (result == null) {
+            ArrayList<Exception> created = new ArrayList<>(errors.size());
+            for (Object error : errors)
+                created.add(error instanceof Result.Failure ? ((Result.Failure<?>) error).toException()
+                        : (Exception) error);
+            // racing threads create equal lists, any of them may win
+            exceptions = result = List.copyOf(created);
+        }
+        return result;
     }
 
     boolean hasExceptions() {
-        return !exceptions.isEmpty();
+        return !errors.isEmpty();
     }
 
     <R> StreamElement<R> withExceptionAdded(Exception e) {
-        Objects.requireNonNull(e);
-        ArrayList<Exception> newExceptions = new ArrayList<>(exceptions);
-        newExceptions.add(e);
-        return new StreamElement<>(null, List.copyOf(newExceptions));
+        return withErrorAdded(Objects.requireNonNull(e));
+    }
+
+    /**
+     * Adds the failure without creating an exception for it.
+     */
+    <R> StreamElement<R> withFailureAdded(Result.Failure<?> failure) {
+        return withErrorAdded(Objects.requireNonNull(failure));
+    }
+
+    private <R> StreamElement<R> withErrorAdded(Object error) {
+        ArrayList<Object> newErrors = new ArrayList<>(errors);
+        newErrors.add(error);
+        return new StreamElement<>(null, List.copyOf(newErrors));
+    }
+
+    <R> StreamElement<R> withExceptionsAdded(List<Exception> more) {
+        ArrayList<Object> newErrors = new ArrayList<>(errors);
+        newErrors.addAll(more);
+        return new StreamElement<>(null, List.copyOf(newErrors));
+    }
+
+    /**
+     * @return the {@link Exception}s and {@link Result.Failure}s as recorded,
+     *         without creating exceptions for the failures
+     */
+    List<Object> getErrors() {
+        return errors;
+    }
+
+    /**
+     * @param errors as returned by {@link #getErrors()}, not empty
+     */
+    static <T> StreamElement<T> ofErrors(List<Object> errors) {
+        if (errors.isEmpty())
+            throw new IllegalArgumentException();
+        return new StreamElement<>(null, errors);
+    }
+
+    /**
+     * Adds the errors of the other element as recorded, so that its failures
+     * do not need to be turned into exceptions.
+     */
+    <R> StreamElement<R> withErrorsOf(StreamElement<?> other) {
+        if (!other.hasExceptions())
+            return tryAdapt();
+        ArrayList<Object> newErrors = new ArrayList<>(errors);
+        newErrors.addAll(other.errors);
+        return new StreamElement<>(null, List.copyOf(newErrors));
     }
 
     <R> StreamElement<R> tryAdapt() {
         if (!hasExceptions())
             throw new UnsupportedOperationException();
-        return new StreamElement<>(null, exceptions); // cast wäre auch möglich
+        return new StreamElement<>(null, errors); // cast wäre auch möglich
     }
 
     static <T> StreamElement<T> of(T t) {
@@ -70,7 +129,7 @@ final class StreamElement<T> {
 
     @Override
     public String toString() {
-        return String.format("StreamElement [%s, exceptions=%s]", element, exceptions);
+        return String.format("StreamElement [%s, exceptions=%s]", element, errors);
     }
 
 }
@@ -2,8 +2,12 @@
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
 import java.util.stream.Stream;
 
 interface StreamIterator<T> {
@@ -28,6 +32,14 @@ interface StreamIterator<T> {
      */
     OptionalLong getSize();
 
+    /**
+     * Notifies that no more elements will be requested, so resources held for
+     * reading ahead can be released.
+     */
+    default void close() {
+        // nothing
+    }
+
     static <T> StreamIterator<T> of(Collection<T> col) {
         return of(col.iterator(), OptionalLong.of(col.size()));
     }
@@ -41,8 +53,123 @@ interface StreamIterator<T> {
     }
 
     static <T> StreamIterator<T> of(Stream<T> javaStream) {
-        // could use Spliterator here which might have a size, but too advanced for PGdP
-        return of(javaStream.iterator(), OptionalLong.empty());
+        return of(javaStream.spliterator());
+    }
+
+    static <T> StreamIterator<T> of(Spliterator<T> spliterator) {
+        OptionalLong size = spliterator.hasCharacteristics(Spliterator.SIZED)
+                ? OptionalLong.of(spliterator.getExactSizeIfKnown())
+                : OptionalLong.empty();
+        return of(Spliterators.iterator(spliterator), size);
+    }
+
+    /**
+     * Returns the given elements including the erroneous ones.
+     */
+    static <T> StreamIterator<T> ofElements(List<StreamElement<T>> elements) {
+        Iterator<StreamElement<T>> it = elements.iterator();
+        return new StreamIterator<>() {
+
+            long remaining = elements.size();
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public StreamElement<T> next() {
+                StreamElement<T> next = it.next();
+                remaining--;
+                return next;
+            }
+
+            @Override
+            public OptionalLong getSize() {
+                return OptionalLong.of(remaining);
+            }
+        };
+    }
+
+    /**
+     * Returns the elements of the given iterators one after another.
+     */
+    static <T> StreamIterator<T> concat(List<StreamIterator<? extends T>> iterators, OptionalLong size) {
+        return new StreamIterator<>() {
+
+            int index;
+
+            @Override
+            public boolean hasNext() {
+                while (index < iterators.size()) {
+                    if (iterators.get(index).hasNext())
+                        return true;
+                    index++;
+                }
+                return false;
+            }
+
+            @Override
+            public StreamElement<T> next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                @SuppressWarnings("unchecked") // elements are immutable
+                StreamElement<T> next = (StreamElement<T>) iterators.get(index).next();
+                return next;
+            }
+
+            @Override
+            public OptionalLong getSize() {
+                return size;
+            }
+
+            @Override
+            public void close() {
+                iterators.forEach(StreamIterator::close);
+            }
+        };
+    }
+
+    /**
+     * Combines the elements of both iterators pairwise until one of them has no
+     * more elements. If one of the elements has exceptions, the result has the
+     * exceptions of both elements and the partner element is discarded.
+     */
+    static <A, B, R> StreamIterator<R> zip(StreamIterator<A> a, StreamIterator<B> b,
+                                           BiFunction<? super A, ? super B, ? extends R> combiner, OptionalLong size) {
+        return new StreamIterator<>() {
+
+            @Override
+            public boolean hasNext() {
+                return a.hasNext() && b.hasNext();
+            }
+
+            @Override
+            public StreamElement<R> next() {
+                StreamElement<A> left = a.next();
+                StreamElement<B> right = b.next();
+                if (left.hasExceptions())
+                    return left.withErrorsOf(right);
+                if (right.hasExceptions())
+                    return right.tryAdapt();
+                try {
+                    return StreamElement.of(combiner.apply(left.getElement(), right.getElement()));
+                } catch (Exception e) {
+                    return left.withExceptionAdded(e);
+                }
+            }
+
+            @Override
+            public OptionalLong getSize() {
+                return size;
+            }
+
+            @Override
+            public void close() {
+                a.close();
+                b.close();
+            }
+        };
     }
 
     private static <T> StreamIterator<T> of(Iterator<T> iterator, OptionalLong size) {
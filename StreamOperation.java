@@ -15,6 +15,28 @@ interface StreamOperation<T> {
      */
     void finish();
 
+    /**
+     * Notifies that the evaluation ended with an exception, {@link #finish()} is
+     * not called in that case (or may already have failed). Allows to release
+     * resources like threads or temporary files.
+     */
+    default void abort() {
+        // nothing
+    }
+
+    /**
+     * Notifies that elements of a checked stream may follow, although the
+     * characteristics passed to {@link #start(StreamCharacteristics)} were not
+     * checked, e.g. once flatMap meets a checked inner stream. Operations that
+     * handle errors ignore this, all others pass it on. By default it is
+     * rejected like a checked stream at a terminal operation.
+     *
+     * @throws CheckedStreamException if the errors reach no error handling
+     */
+    default void upstreamBecameChecked() {
+        throw new CheckedStreamException("Cannot process a checked exception stream with no error handling");
+    }
+
     /**
      *
      * @return true if the StreamOperation wishes to receive more Elements
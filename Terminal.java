@@ -0,0 +1,278 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.PriorityQueue;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Beschreibung einer terminalen Stream-Operation, die mit
+ * {@link Stream#evaluateAll(List)} zusammen mit anderen terminalen
+ * Stream-Operationen in einem einzigen Durchlauf ausgewertet werden kann. Eine
+ * Instanz kann beliebig oft verwendet werden.
+ *
+ * @param <T> der Typ der Elemente im Stream
+ * @param <R> der Typ des Ergebnisses
+ */
+public final class Terminal<T, R> {
+
+    private final Supplier<TerminalStreamOperation<T, R>> operationFactory;
+
+    private Terminal(Supplier<TerminalStreamOperation<T, R>> operationFactory) {
+        this.operationFactory = operationFactory;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T, R> TerminalStreamOperation<T, R> newOperation(Terminal<? super T, R> terminal) {
+        // elements are immutable, so a consumer of a supertype can take them as well
+        return (TerminalStreamOperation<T, R>) terminal.operationFactory.get();
+    }
+
+    /**
+     * @see Stream#count()
+     */
+    public static <T> Terminal<T, Long> count() {
+        return new Terminal<>(() -> new TerminalStreamOperation<>() {
+
+            long count;
+            boolean shortCircuit;
+
+            @Override
+            public void start(StreamCharacteristics upstreamCharacteristics) {
+                TerminalStreamOperation.super.start(upstreamCharacteristics);
+                count = 0L;
+                var size = upstreamCharacteristics.getStreamSize();
+                shortCircuit = size.isPresent();
+                if (shortCircuit)
+                    count = size.getAsLong();
+            }
+
+            @Override
+            public boolean needsMoreElements() {
+                return !shortCircuit;
+            }
+
+            @Override
+            public void acceptElement(StreamElement<T> t) {
+                TerminalStreamOperation.checkElementForExceptions(t);
+                count++;
+            }
+
+            @Override
+            public Long get() {
+                return count;
+            }
+        });
+    }
+
+    /**
+     * @see Stream#findFirst()
+     */
+    public static <T> Terminal<T, Optional<T>> findFirst() {
+        return new Terminal<>(() -> new TerminalStreamOperation<>() {
+
+            Optional<T> value = Optional.empty();
+
+            @Override
+            public boolean needsMoreElements() {
+                return value.isEmpty();
+            }
+
+            @Override
+            public void acceptElement(StreamElement<T> t) {
+                if (value.isPresent())
+                    throw new IllegalStateException("findFirst() cannot accept more than one element");
+                TerminalStreamOperation.checkElementForExceptions(t);
+                value = Optional.of(t.getElement());
+            }
+
+            @Override
+            public Optional<T> get() {
+                return value;
+            }
+        });
+    }
+
+    /**
+     * @throws NullPointerException falls accumulator null ist
+     * @see Stream#reduce(BinaryOperator)
+     */
+    public static <T> Terminal<T, Optional<T>> reduce(BinaryOperator<T> accumulator) {
+        Objects.requireNonNull(accumulator, "accumulator");
+        return new Terminal<>(() -> new TerminalStreamOperation<>() {
+            boolean oneSeen = false;
+            T current;
+
+            @Override
+            public boolean needsMoreElements() {
+                return true;
+            }
+
+            @Override
+            public void acceptElement(StreamElement<T> t) {
+                TerminalStreamOperation.checkElementForExceptions(t);
+                if (oneSeen) {
+                    current = accumulator.apply(current, t.getElement());
+                } else {
+                    current = t.getElement();
+                    oneSeen = true;
+                }
+            }
+
+            @Override
+            public Optional<T> get() {
+                if (oneSeen)
+                    return Optional.of(current);
+                return Optional.empty();
+            }
+        });
+    }
+
+    /**
+     * @throws NullPointerException falls comparator null ist
+     * @see Stream#min(Comparator)
+     */
+    public static <T> Terminal<T, Optional<T>> min(Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator, "comparator");
+        return reduce(BinaryOperator.minBy(comparator));
+    }
+
+    /**
+     * @throws NullPointerException falls comparator null ist
+     * @see Stream#max(Comparator)
+     */
+    public static <T> Terminal<T, Optional<T>> max(Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator, "comparator");
+        return reduce(BinaryOperator.maxBy(comparator));
+    }
+
+    /**
+     * @throws NullPointerException     falls comparator null ist
+     * @throws IllegalArgumentException falls k negativ ist
+     * @see Stream#topK(int, Comparator)
+     */
+    public static <T> Terminal<T, List<T>> topK(int k, Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator, "comparator");
+        if (k < 0)
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        return new Terminal<>(() -> new TerminalStreamOperation<>() {
+
+            // the smallest of the k largest elements is on top
+            PriorityQueue<T> heap;
+            boolean nonNull;
+
+            @Override
+            public void start(StreamCharacteristics upstreamCharacteristics) {
+                TerminalStreamOperation.super.start(upstreamCharacteristics);
+                heap = new PriorityQueue<>(Math.max(1, k), comparator);
+                nonNull = upstreamCharacteristics.isNonNull();
+            }
+
+            @Override
+            public boolean needsMoreElements() {
+                return k > 0;
+            }
+
+            @Override
+            public void acceptElement(StreamElement<T> t) {
+                TerminalStreamOperation.checkElementForExceptions(t);
+                T element = t.getElement();
+                if (!nonNull)
+                    Objects.requireNonNull(element, "topK does not support null elements");
+                if (heap.size() < k) {
+                    heap.add(element);
+                } else if (comparator.compare(element, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(element);
+                }
+            }
+
+            @Override
+            public List<T> get() {
+                ArrayList<T> result = new ArrayList<>(heap);
+                result.sort(comparator.reversed());
+                return result;
+            }
+        });
+    }
+
+    /**
+     * @throws NullPointerException     falls comparator null ist
+     * @throws IllegalArgumentException falls k negativ ist
+     * @see Stream#bottomK(int, Comparator)
+     */
+    public static <T> Terminal<T, List<T>> bottomK(int k, Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator, "comparator");
+        return topK(k, Collections.reverseOrder(comparator));
+    }
+
+    /**
+     * @throws NullPointerException     falls valueFn null ist
+     * @throws IllegalArgumentException falls p nicht zwischen 0 und 1 liegt
+     * @see Stream#quantile(double, ToDoubleFunction)
+     */
+    public static <T> Terminal<T, OptionalDouble> quantile(double p, ToDoubleFunction<? super T> valueFn) {
+        Objects.requireNonNull(valueFn, "valueFn");
+        QuantileEstimator.checkQuantile(p);
+        return new Terminal<>(() -> new TerminalStreamOperation<>() {
+
+            final QuantileEstimator estimator = new QuantileEstimator(p);
+
+            @Override
+            public boolean needsMoreElements() {
+                return true;
+            }
+
+            @Override
+            public void acceptElement(StreamElement<T> t) {
+                TerminalStreamOperation.checkElementForExceptions(t);
+                estimator.add(valueFn.applyAsDouble(t.getElement()));
+            }
+
+            @Override
+            public OptionalDouble get() {
+                return estimator.get();
+            }
+        });
+    }
+
+    /**
+     * @throws NullPointerException falls collectionGenerator null ist
+     * @see Stream#toCollection(Supplier)
+     */
+    public static <T> Terminal<T, Collection<T>> toCollection(Supplier<? extends Collection<T>> collectionGenerator) {
+        Objects.requireNonNull(collectionGenerator, "collectionGenerator");
+        return new Terminal<>(() -> new TerminalStreamOperation<>() {
+
+            Collection<T> collection;
+
+            @Override
+            public void start(StreamCharacteristics upstreamCharacteristics) {
+                TerminalStreamOperation.super.start(upstreamCharacteristics);
+                collection = Objects.requireNonNull(collectionGenerator.get(), "collectionGenerator returned null");
+            }
+
+            @Override
+            public boolean needsMoreElements() {
+                return true;
+            }
+
+            @Override
+            public void acceptElement(StreamElement<T> t) {
+                TerminalStreamOperation.checkElementForExceptions(t);
+                collection.add(t.getElement());
+            }
+
+            @Override
+            public Collection<T> get() {
+                return collection;
+            }
+        });
+    }
+}
@@ -0,0 +1,31 @@
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Die Ergebnisse mehrerer gemeinsam ausgewerteter terminaler
+ * Stream-Operationen.
+ *
+ * @see Stream#evaluateAll(java.util.List)
+ */
+public final class TerminalResults {
+
+    private final Map<Terminal<?, ?>, Object> results;
+
+    TerminalResults(Map<Terminal<?, ?>, Object> results) {
+        this.results = results;
+    }
+
+    /**
+     * Gibt das Ergebnis der übergebenen terminalen Stream-Operation zurück.
+     *
+     * @throws NullPointerException     falls terminal null ist
+     * @throws IllegalArgumentException falls terminal nicht mit ausgewertet wurde
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R get(Terminal<?, R> terminal) {
+        Objects.requireNonNull(terminal, "terminal");
+        if (!results.containsKey(terminal))
+            throw new IllegalArgumentException("Terminal operation was not evaluated");
+        return (R) results.get(terminal);
+    }
+}
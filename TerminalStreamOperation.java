@@ -12,4 +12,10 @@ interface TerminalStreamOperation<T, R> extends StreamOperation<T>, Supplier<R>
     default void finish() {
         // nothing
     }
+
+    static void checkElementForExceptions(StreamElement<?> e) {
+        if (e.hasExceptions())
+            throw new ErrorsAtTerminalOperationException(
+                    "Terminal operation encountered some Exceptions: " + e.getExceptions());
+    }
 }
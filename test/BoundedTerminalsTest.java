@@ -0,0 +1,97 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedTerminalsTest {
+
+    private static final List<Integer> VALUES = List.of(5, 3, 9, 1, 7, 3, 8);
+
+    @Test
+    void topKReturnsTheLargestDescending() {
+        assertEquals(List.of(9, 8, 7), Stream.of(VALUES).topK(3, Comparator.naturalOrder()));
+        assertEquals(List.of(9, 8, 7, 5, 3, 3, 1), Stream.of(VALUES).topK(10, Comparator.naturalOrder()));
+        assertEquals(List.of(), Stream.of(VALUES).topK(0, Comparator.naturalOrder()));
+    }
+
+    @Test
+    void bottomKReturnsTheSmallestAscending() {
+        assertEquals(List.of(1, 3, 3), Stream.of(VALUES).bottomK(3, Comparator.naturalOrder()));
+    }
+
+    @Test
+    void topKOfManyElements() {
+        List<Integer> many = IntStream.range(0, 100_000).map(i -> (i * 7919) % 100_000).boxed()
+                .collect(Collectors.toList());
+        assertEquals(List.of(99_999, 99_998, 99_997), Stream.of(many).topK(3, Comparator.naturalOrder()));
+    }
+
+    @Test
+    void topKRejectsNullElementsOfSourcesThatMayContainThem() {
+        assertThrows(NullPointerException.class,
+                () -> Stream.of(Arrays.asList(1, null, 2)).topK(2, Comparator.naturalOrder()));
+        Spliterator<Integer> nonNull = Spliterators.spliterator(new Integer[] { 3, 1, 2 }, Spliterator.NONNULL);
+        assertEquals(List.of(3, 2), Stream.of(StreamSupport.stream(nonNull, false)).filter(x -> x > 1)
+                .topK(2, Comparator.naturalOrder()));
+    }
+
+    @Test
+    void rejectsNegativeK() {
+        assertThrows(IllegalArgumentException.class, () -> Stream.of(VALUES).topK(-1, Comparator.naturalOrder()));
+    }
+
+    @Test
+    void minAndMax() {
+        assertEquals(Optional.of(1), Stream.of(VALUES).min(Comparator.naturalOrder()));
+        assertEquals(Optional.of(9), Stream.of(VALUES).max(Comparator.naturalOrder()));
+        assertEquals(Optional.empty(), Stream.<Integer>of().max(Comparator.naturalOrder()));
+    }
+
+    @Test
+    void quantileOfAStream() {
+        assertEquals(OptionalDouble.of(5.0), Stream.of(1, 9, 5).quantile(0.5, Integer::doubleValue));
+        assertEquals(OptionalDouble.empty(), Stream.<Integer>of().quantile(0.5, Integer::doubleValue));
+    }
+
+    @Test
+    void errorElementsFailTheTerminals() {
+        assertThrows(ErrorsAtTerminalOperationException.class,
+                () -> Stream.of(1, 0).map(x -> 1 / x).topK(1, Comparator.naturalOrder()));
+        assertThrows(ErrorsAtTerminalOperationException.class,
+                () -> Stream.of(1, 0).map(x -> 1 / x).quantile(0.5, Integer::doubleValue));
+    }
+
+    @Test
+    void onErrorFilterCountsTheRemovedElements() {
+        LongAdder errors = new LongAdder();
+        List<Integer> top = Stream.of(1, 0, 2, 0).map(x -> 4 / x).onErrorFilter(errors)
+                .topK(1, Comparator.naturalOrder());
+        assertEquals(List.of(4), top);
+        assertEquals(2, errors.sum());
+    }
+
+    @Test
+    void onErrorFilterHandlesCheckedStreams() {
+        Stream<Integer> checked = Stream.of(1, 2, 3).mapChecked(x -> {
+            if (x == 2)
+                throw new IOException();
+            return x;
+        });
+        assertEquals(2, checked.onErrorFilter().count());
+        Stream<Integer> unhandled = Stream.of(1).mapChecked(x -> x);
+        assertThrows(CheckedStreamException.class, unhandled::count);
+    }
+}
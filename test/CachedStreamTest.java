@@ -0,0 +1,86 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class CachedStreamTest {
+
+    private static <T> List<T> toList(Stream<T> stream) {
+        return new ArrayList<>(stream.toCollection(ArrayList::new));
+    }
+
+    @Test
+    void replaysWithoutEvaluatingAgain() {
+        AtomicInteger evaluated = new AtomicInteger();
+        CachedStream<Integer> cached = Stream.of(1, 2, 3).map(x -> {
+            evaluated.incrementAndGet();
+            return x * 2;
+        }).cache();
+        assertEquals(List.of(2, 4, 6), toList(cached.stream()));
+        assertEquals(List.of(2, 4, 6), toList(cached.stream()));
+        assertEquals(3, evaluated.get());
+    }
+
+    @Test
+    void keepsElementsAcrossChunks() {
+        List<Integer> values = IntStream.range(0, 5_000).boxed().collect(Collectors.toList());
+        CachedStream<Integer> cached = Stream.of(values).cache();
+        assertEquals(5_000, cached.size());
+        assertEquals(values, toList(cached.stream()));
+    }
+
+    @Test
+    void keepsErrorAndNullElements() {
+        CachedStream<Integer> cached = Stream.of(1, 0, null, 2).map(x -> x == null ? null : 2 / x).cache();
+        assertEquals(4, cached.size());
+        assertEquals(1, cached.errorCount());
+        assertEquals(Arrays.asList(2, -1, null, 1), toList(cached.stream().onErrorMap(errors -> -1)));
+    }
+
+    @Test
+    void keepsTheErrorsOfEveryReplayAcrossChunks() {
+        CachedStream<Integer> cached = Stream.of(IntStream.range(0, 3_000).boxed().collect(Collectors.toList()))
+                .map(x -> {
+                    if (x % 1_000 == 999)
+                        throw new IllegalStateException("failed " + x);
+                    return x;
+                }).cache();
+        assertEquals(3, cached.errorCount());
+        for (int replay = 0; replay < 2; replay++) {
+            List<String> messages = new ArrayList<>();
+            long successes = cached.stream().onErrorMap(errors -> {
+                messages.add(errors.get(0).getMessage());
+                return -1;
+            }).filter(x -> x >= 0).count();
+            assertEquals(2_997, successes);
+            assertEquals(List.of("failed 999", "failed 1999", "failed 2999"), messages);
+        }
+    }
+
+    @Test
+    void replaysHaveAKnownSize() {
+        AtomicInteger read = new AtomicInteger();
+        CachedStream<Integer> cached = Stream.of(1, 2, 3).cache();
+        assertEquals(3, cached.stream().map(x -> read.incrementAndGet()).count());
+        assertEquals(0, read.get());
+    }
+
+    @Test
+    void replaysOfCheckedStreamsAreChecked() {
+        CachedStream<Integer> cached = Stream.of(1).mapChecked(x -> {
+            if (x < 0)
+                throw new IOException();
+            return x;
+        }).cache();
+        assertThrows(CheckedStreamException.class, () -> cached.stream().count());
+        assertEquals(1, cached.stream().onErrorFilter().count());
+    }
+}
@@ -0,0 +1,105 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class CancellationTest {
+
+    private static final List<Integer> VALUES = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+
+    @Test
+    void uncancelledEvaluationIsComplete() {
+        PartialResult<Collection<Integer>> result = Stream.of(VALUES)
+                .evaluate(Terminal.toCollection(ArrayList::new), new CancellationToken());
+        assertTrue(result.isComplete());
+        assertEquals(VALUES.size(), result.getProcessedElements());
+        assertEquals(VALUES, result.getResult());
+    }
+
+    @Test
+    void cancelledEvaluationReturnsThePartialResult() {
+        CancellationToken token = new CancellationToken();
+        PartialResult<Collection<Integer>> result = Stream.of(VALUES).map(x -> {
+            if (x == 1_000)
+                token.cancel();
+            return x;
+        }).evaluate(Terminal.toCollection(ArrayList::new), token);
+        assertFalse(result.isComplete());
+        assertEquals(result.getProcessedElements(), result.getResult().size());
+        assertEquals(1_001, result.getProcessedElements());
+        assertTrue(token.isCancelled());
+    }
+
+    @Test
+    void deadlineStopsTheEvaluation() {
+        Stream<Integer> infinite = Stream.of(java.util.stream.Stream.iterate(0, i -> i + 1));
+        PartialResult<Long> result = infinite.filter(x -> true)
+                .evaluate(Terminal.count(), CancellationToken.withDeadline(Duration.ofMillis(50)));
+        assertFalse(result.isComplete());
+        assertEquals(result.getProcessedElements(), (long) result.getResult());
+    }
+
+    @Test
+    void deadlineIsNoticedForSlowElements() {
+        Stream<Integer> infinite = Stream.of(java.util.stream.Stream.iterate(0, i -> i + 1));
+        PartialResult<Long> result = infinite.map(x -> {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return x;
+        }).filter(x -> true).evaluate(Terminal.count(), CancellationToken.withDeadline(Duration.ofMillis(50)));
+        assertFalse(result.isComplete());
+        assertTrue(result.getProcessedElements() <= 20, "processed " + result.getProcessedElements());
+    }
+
+    @Test
+    void distinctPassesOnWhatWasReadBeforeTheCancellation() {
+        CancellationToken token = new CancellationToken();
+        PartialResult<Collection<Integer>> result = Stream.of(VALUES).map(x -> {
+            if (x == 1_000)
+                token.cancel();
+            return x % 10;
+        }).distinct().evaluate(Terminal.toCollection(ArrayList::new), token);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), result.getResult());
+    }
+
+    @Test
+    void otherThreadsNoticeTheDeadline() throws InterruptedException {
+        SourcePart<Integer> source = (SourcePart<Integer>) Stream.of(1);
+        source.setCancellationToken(CancellationToken.withDeadline(Duration.ofMillis(20)));
+        Thread lane = new Thread(() -> {
+            while (!source.isCancelledFromAnyThread())
+                Thread.onSpinWait();
+        });
+        lane.start();
+        lane.join(5_000);
+        assertFalse(lane.isAlive());
+        assertTrue(source.wasCancelled());
+    }
+
+    @Test
+    void consumedStreamsDoNotTakeTheToken() {
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        Stream<Integer> source = Stream.of(VALUES);
+        Stream<Integer> filtered = source.filter(x -> true);
+        assertThrows(IllegalStateException.class, () -> source.evaluate(Terminal.count(), token));
+        assertEquals(VALUES.size(), filtered.count());
+    }
+
+    @Test
+    void rejectsNegativeTimeouts() {
+        assertThrows(IllegalArgumentException.class, () -> CancellationToken.withDeadline(Duration.ofMillis(-1)));
+    }
+}
@@ -0,0 +1,106 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+class ConcatZipTest {
+
+    private static <T> List<T> toList(Stream<T> stream) {
+        return new ArrayList<>(stream.toCollection(ArrayList::new));
+    }
+
+    /**
+     * A collection of known size whose elements must never be read.
+     */
+    private static Collection<Integer> unreadable(int size) {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        throw new AssertionError("elements were read");
+                    }
+
+                    @Override
+                    public Integer next() {
+                        throw new AssertionError("elements were read");
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Test
+    void concatReadsTheStreamsOneAfterAnother() {
+        assertEquals(List.of(1, 2, 3, 4), toList(Stream.concat(Stream.of(1, 2), Stream.<Integer>of(), Stream.of(3, 4))));
+        assertEquals(List.of(), toList(Stream.<Integer>concat()));
+    }
+
+    @Test
+    void concatSumsKnownSizes() {
+        assertEquals(5, Stream.concat(Stream.of(unreadable(2)), Stream.of(unreadable(3))).count());
+    }
+
+    @Test
+    void zipCombinesUntilTheShorterStreamEnds() {
+        assertEquals(List.of("1a", "2b"), toList(Stream.zip(Stream.of(1, 2, 3), Stream.of("a", "b"), (i, s) -> i + s)));
+    }
+
+    @Test
+    void zipTakesTheSmallerKnownSize() {
+        assertEquals(2, Stream.zip(Stream.of(unreadable(5)), Stream.of(unreadable(2)), Integer::sum).count());
+    }
+
+    @Test
+    void zipKeepsTheExceptionsOfBothSides() {
+        Stream<Integer> left = Stream.zip(Stream.of(1, 2), Stream.of(0, 1), (a, b) -> a / b);
+        Stream<Integer> right = Stream.zip(Stream.of(1, 2), Stream.of(0, 2), (a, b) -> a / b);
+        List<Integer> errorCounts = toList(Stream.zip(left, right, Integer::sum).onErrorMap(List::size));
+        assertEquals(List.of(2, 3), errorCounts);
+    }
+
+    @Test
+    void zipKeepsFailuresWithoutCreatingExceptions() {
+        StreamElement<Integer> left = StreamElement.<Integer>of(null).withFailureAdded(new Result.Failure<>("A", null));
+        StreamElement<Integer> right = StreamElement.<Integer>of(null).withFailureAdded(new Result.Failure<>("B", null));
+        StreamElement<Integer> zipped = StreamIterator.zip(StreamIterator.ofElements(List.of(left)),
+                StreamIterator.ofElements(List.of(right)), Integer::sum, OptionalLong.of(1)).next();
+        assertEquals(2, zipped.getErrors().size());
+        assertTrue(zipped.getErrors().stream().allMatch(Result.Failure.class::isInstance));
+        assertEquals(List.of("A", "B"), zipped.getExceptions().stream()
+                .map(e -> ((ResultException) e).getCode()).collect(Collectors.toList()));
+    }
+
+    @Test
+    void onlySourcesCanBeCombined() {
+        assertThrows(IllegalArgumentException.class, () -> Stream.concat(Stream.of(1).map(x -> x)));
+        assertThrows(IllegalArgumentException.class, () -> Stream.zip(Stream.of(1), Stream.of(1).filter(x -> true), Integer::sum));
+    }
+
+    @Test
+    void combinedStreamsAreConsumed() {
+        Stream<Integer> a = Stream.of(1);
+        Stream.concat(a).count();
+        assertThrows(IllegalStateException.class, a::count);
+    }
+
+    @Test
+    void concatRejectsNullStreams() {
+        assertThrows(NullPointerException.class, () -> Stream.concat(Stream.of(1), null));
+    }
+}
@@ -0,0 +1,79 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class DistinctByTest {
+
+    private static <T> List<T> toList(Stream<T> stream) {
+        return new ArrayList<>(stream.toCollection(ArrayList::new));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    void keepsTheFirstElementPerKey() {
+        assertEquals(List.of("apple", "banana", "cherry"),
+                toList(Stream.of("apple", "avocado", "banana", "blueberry", "cherry").distinctBy(s -> s.charAt(0))));
+    }
+
+    @Test
+    void keyFnFailuresBecomeErrorElements() {
+        assertEquals(List.of(1, -1, 2), toList(Stream.of(1, 0, 2, 1).distinctBy(x -> 2 / x).onErrorMap(errors -> -1)));
+    }
+
+    @Test
+    void leastRecentlySeenKeysAreForgotten() {
+        DistinctMetrics metrics = new DistinctMetrics();
+        assertEquals(List.of(1, 2, 3, 2, 1), toList(Stream.of(1, 2, 1, 3, 2, 1).distinctBy(x -> x, 2, metrics)));
+        assertEquals(3, metrics.getEvictedKeys());
+    }
+
+    @Test
+    void keysExpireAfterTheirTtl() {
+        DistinctMetrics metrics = new DistinctMetrics();
+        List<String> result = toList(Stream.of("a", "a", "pause", "a").map(s -> {
+            if (s.equals("pause"))
+                sleep(200);
+            return s;
+        }).distinctBy(s -> s, Duration.ofMillis(100), metrics));
+        assertEquals(List.of("a", "pause", "a"), result);
+        assertEquals(1, metrics.getEvictedKeys());
+    }
+
+    @Test
+    void rejectsInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> Stream.of(1).distinctBy(x -> x, 0));
+        assertThrows(IllegalArgumentException.class, () -> Stream.of(1).distinctBy(x -> x, Duration.ZERO));
+    }
+
+    @Test
+    void keysAreReleasedWhenTheStreamEnds() {
+        DistinctMetrics metrics = new DistinctMetrics();
+        assertEquals(List.of(1, 2, 3), toList(Stream.of(1, 2, 1, 3).distinctBy(x -> x, metrics)));
+        assertEquals(0, metrics.getRetainedKeys());
+        assertEquals(0, metrics.getEvictedKeys());
+    }
+
+    @Test
+    void keysAreReleasedWhenTheEvaluationFails() {
+        DistinctMetrics metrics = new DistinctMetrics();
+        assertThrows(IllegalStateException.class, () -> Stream.of(1, 2, 3).distinctBy(x -> x, 10, metrics)
+                .reduce((a, b) -> {
+                    if (b == 2)
+                        throw new IllegalStateException();
+                    return a + b;
+                }));
+        assertEquals(0, metrics.getRetainedKeys());
+    }
+}
@@ -0,0 +1,86 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.Test;
+
+class DistinctTest {
+
+    private static <T> List<T> toList(Stream<T> stream) {
+        return new ArrayList<>(stream.toCollection(ArrayList::new));
+    }
+
+    @Test
+    void keepsTheFirstOfEqualElements() {
+        assertEquals(Arrays.asList(1, 3, 2, null, 4), toList(Stream.of(1, 3, 2, 2, null, 1, 3, null, 4).distinct()));
+    }
+
+    @Test
+    void passesErrorElementsOn() {
+        List<Integer> result = toList(Stream.of(2, 1, 0, 2, 0).map(x -> 2 / x).distinct().onErrorMap(errors -> -1));
+        assertEquals(List.of(1, 2, -1, -1), result);
+    }
+
+    @Test
+    void sortedInputIsDistinctWithoutBuffering() {
+        AtomicInteger read = new AtomicInteger();
+        Iterator<Integer> sorted = List.of(1, 1, 2, 3).iterator();
+        java.util.stream.Stream<Integer> javaStream = StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(sorted, Spliterator.SORTED | Spliterator.ORDERED), false);
+        Optional<Integer> first = Stream.of(javaStream.peek(x -> read.incrementAndGet())).distinct().findFirst();
+        assertEquals(Optional.of(1), first);
+        assertEquals(1, read.get());
+    }
+
+    @Test
+    void sortedInputComparesAdjacentElements() {
+        assertEquals(List.of("a", "b", "c"), toList(Stream.of(List.of("c", "a", "b", "a", "c").stream().sorted()).distinct()));
+    }
+
+    @Test
+    void sizeOfJavaStreamsIsTakenOver() {
+        AtomicInteger read = new AtomicInteger();
+        long count = Stream.of(List.of(1, 2, 3).stream().peek(x -> read.incrementAndGet())).count();
+        assertEquals(3, count);
+        assertEquals(0, read.get());
+    }
+
+    @Test
+    void naturalOrderInconsistentWithEqualsUsesEquals() {
+        List<BigDecimal> values = List.of(new BigDecimal("1.0"), new BigDecimal("1.00"), new BigDecimal("1.0"));
+        assertEquals(List.of(new BigDecimal("1.0"), new BigDecimal("1.00")),
+                toList(Stream.of(values.stream().sorted()).distinct()));
+    }
+
+    @Test
+    void comparatorSortedInputIsNotTreatedAsSorted() {
+        Iterator<String> byLength = List.of("a", "b", "a", "cc").iterator();
+        Spliterator<String> spliterator = new Spliterators.AbstractSpliterator<String>(Long.MAX_VALUE,
+                Spliterator.SORTED | Spliterator.ORDERED) {
+            @Override
+            public boolean tryAdvance(Consumer<? super String> action) {
+                if (!byLength.hasNext())
+                    return false;
+                action.accept(byLength.next());
+                return true;
+            }
+
+            @Override
+            public Comparator<? super String> getComparator() {
+                return Comparator.comparingInt(String::length);
+            }
+        };
+        assertEquals(List.of("a", "b", "cc"), toList(Stream.of(StreamSupport.stream(spliterator, false)).distinct()));
+    }
+}
@@ -0,0 +1,184 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.Serializable;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class DistributedRunnerTest {
+
+    private static final List<Integer> VALUES = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+    /** the lambdas of this test have to be deserialized by the workers */
+    private static final String TEST_CLASSES = "DistributedRunnerTest*";
+
+    /** serializable, but not the objects it may refer to */
+    static final class Holder implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        final int value;
+        final Object attachment;
+
+        Holder(int value, Object attachment) {
+            this.value = value;
+            this.attachment = attachment;
+        }
+    }
+
+    private static DistributedRunner launch(int workers) {
+        return DistributedRunner.launchLocalWorkers(workers, TEST_CLASSES, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void resultsKeepTheSourceOrder() {
+        try (DistributedRunner runner = launch(2)) {
+            RemotePipeline<Integer, Integer> pipeline = RemotePipeline.<Integer>identity().map(x -> x * 2)
+                    .filter(x -> x % 3 == 0);
+            List<Integer> result = new ArrayList<>(runner.run(Stream.of(VALUES), pipeline)
+                    .toCollection(ArrayList::new));
+            assertEquals(VALUES.stream().map(x -> x * 2).filter(x -> x % 3 == 0).collect(Collectors.toList()), result);
+        }
+    }
+
+    @Test
+    void sourcesOfUnknownSizeAreStreamedInBatches() {
+        try (DistributedRunner runner = launch(2)) {
+            Stream<Integer> source = Stream.of(java.util.stream.Stream.iterate(0, i -> i < 5_000, i -> i + 1));
+            assertEquals(5_000L, runner.run(source, RemotePipeline.<Integer>identity()).filter(x -> true).count());
+        }
+    }
+
+    @Test
+    void terminalsMergeThePartialResultsOfTheWorkers() {
+        try (DistributedRunner runner = launch(2)) {
+            RemotePipeline<Integer, Integer> pipeline = RemotePipeline.<Integer>identity().filter(x -> x % 2 == 0);
+            assertEquals(5_000L, runner.run(Stream.of(VALUES), pipeline, RemoteTerminal.count()));
+            assertEquals(Optional.of(24_995_000), runner.run(Stream.of(VALUES), pipeline,
+                    RemoteTerminal.reduce(Integer::sum)));
+            assertEquals(Optional.of(9_998), runner.run(Stream.of(VALUES), pipeline,
+                    RemoteTerminal.max(Integer::compare)));
+        }
+    }
+
+    @Test
+    void remoteErrorsBecomeErrorElements() {
+        try (DistributedRunner runner = launch(2)) {
+            RemotePipeline<Integer, Integer> pipeline = RemotePipeline.<Integer>identity().map(x -> 10 / (x % 1000));
+            List<String> errors = new ArrayList<>();
+            long count = runner.run(Stream.of(VALUES), pipeline).onErrorMap(list -> {
+                errors.add(((RemoteStreamException) list.get(0)).getRemoteClassName());
+                return 0;
+            }).filter(x -> true).count();
+            assertEquals(VALUES.size(), count);
+            assertEquals(10, errors.size());
+            assertEquals(ArithmeticException.class.getName(), errors.get(0));
+            assertThrows(ErrorsAtTerminalOperationException.class,
+                    () -> runner.run(Stream.of(VALUES), pipeline, RemoteTerminal.reduce(Integer::sum)));
+        }
+    }
+
+    @Test
+    void classesOutsideTheAllowListAreRejected() {
+        try (DistributedRunner runner = launch(1)) {
+            List<Object> values = List.of(new ConcurrentHashMap<>());
+            List<Exception> errors = new ArrayList<>();
+            runner.run(Stream.of(values), RemotePipeline.identity()).onErrorMap(list -> {
+                errors.addAll(list);
+                return null;
+            }).toCollection(ArrayList::new);
+            assertEquals(1, errors.size());
+            assertTrue(errors.get(0).getMessage().contains("REJECTED"), errors.get(0).getMessage());
+        }
+    }
+
+    @Test
+    void elementsReferringToUnserializableObjectsFailAlone() {
+        try (DistributedRunner runner = launch(1)) {
+            List<Holder> values = List.of(new Holder(1, null), new Holder(2, new Object()), new Holder(3, "x"));
+            List<Exception> errors = new ArrayList<>();
+            List<Integer> result = new ArrayList<>(runner.run(Stream.of(values), RemotePipeline.<Holder>identity())
+                    .map(holder -> holder.value).onErrorMap(list -> {
+                        errors.addAll(list);
+                        return -1;
+                    }).toCollection(ArrayList::new));
+            assertEquals(List.of(1, -1, 3), result);
+            assertEquals(NotSerializableException.class.getName(),
+                    ((RemoteStreamException) errors.get(0)).getRemoteClassName());
+        }
+    }
+
+    @Test
+    void batchesForAWorkerShareOneConnection() throws IOException {
+        AtomicInteger connections = new AtomicInteger();
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            Thread acceptor = new Thread(() -> {
+                try {
+                    while (true) {
+                        Socket socket = server.accept();
+                        connections.incrementAndGet();
+                        Thread handler = new Thread(
+                                () -> DistributedWorker.handle(socket, RemoteSerialization.filter(TEST_CLASSES)));
+                        handler.setDaemon(true);
+                        handler.start();
+                    }
+                } catch (IOException e) {
+                    // the server socket was closed
+                }
+            });
+            acceptor.setDaemon(true);
+            acceptor.start();
+            DistributedRunner runner = new DistributedRunner(
+                    List.of(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort())),
+                    TEST_CLASSES, Duration.ofSeconds(30));
+            List<Integer> result = new ArrayList<>(runner.run(Stream.of(VALUES), RemotePipeline.<Integer>identity())
+                    .toCollection(ArrayList::new));
+            assertEquals(VALUES, result);
+            assertEquals(1, connections.get());
+        }
+    }
+
+    @Test
+    void hungWorkersTimeOut() throws IOException {
+        try (ServerSocket hung = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            DistributedRunner runner = new DistributedRunner(
+                    List.of(new InetSocketAddress(InetAddress.getLoopbackAddress(), hung.getLocalPort())),
+                    TEST_CLASSES, Duration.ofMillis(500));
+            List<Exception> errors = new ArrayList<>();
+            runner.run(Stream.of(VALUES.subList(0, 10)), RemotePipeline.<Integer>identity()).onErrorMap(list -> {
+                errors.addAll(list);
+                return -1;
+            }).toCollection(ArrayList::new);
+            assertTrue(errors.get(0).getMessage().contains("SocketTimeoutException"), errors.get(0).getMessage());
+        }
+    }
+
+    @Test
+    void checkedPipelinesGiveCheckedStreams() {
+        try (DistributedRunner runner = launch(1)) {
+            RemotePipeline<Integer, Integer> pipeline = RemotePipeline.<Integer>identity().mapChecked(x -> {
+                if (x == 5)
+                    throw new IOException();
+                return x;
+            });
+            assertThrows(CheckedStreamException.class, () -> runner.run(Stream.of(VALUES), pipeline).count());
+            assertThrows(CheckedStreamException.class,
+                    () -> runner.run(Stream.of(VALUES), pipeline, RemoteTerminal.count()));
+            assertEquals(VALUES.size() - 1, runner.run(Stream.of(VALUES), pipeline).onErrorFilter().count());
+        }
+    }
+}
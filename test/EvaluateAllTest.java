@@ -0,0 +1,65 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class EvaluateAllTest {
+
+    @Test
+    void computesAllResultsInOnePass() {
+        AtomicInteger read = new AtomicInteger();
+        Terminal<Integer, Long> count = Terminal.count();
+        Terminal<Integer, Optional<Integer>> max = Terminal.max(Comparator.naturalOrder());
+        Terminal<Integer, Collection<Integer>> all = Terminal.toCollection(ArrayList::new);
+        TerminalResults results = Stream.of(3, 1, 2).map(x -> {
+            read.incrementAndGet();
+            return x;
+        }).evaluateAll(List.of(count, max, all));
+        assertEquals(3L, results.get(count));
+        assertEquals(Optional.of(3), results.get(max));
+        assertEquals(List.of(3, 1, 2), results.get(all));
+        assertEquals(3, read.get());
+    }
+
+    @Test
+    void stopsOnceNoTerminalNeedsMoreElements() {
+        AtomicInteger read = new AtomicInteger();
+        Terminal<Integer, Optional<Integer>> first = Terminal.findFirst();
+        Stream<Integer> infinite = Stream.of(java.util.stream.Stream.generate(read::incrementAndGet));
+        assertEquals(Optional.of(1), infinite.evaluateAll(List.of(first)).get(first));
+        assertEquals(1, read.get());
+    }
+
+    @Test
+    void unknownTerminalsHaveNoResult() {
+        Terminal<Integer, Long> count = Terminal.count();
+        TerminalResults results = Stream.of(1).evaluateAll(List.of(count));
+        assertThrows(IllegalArgumentException.class, () -> results.get(Terminal.<Integer>count()));
+    }
+
+    @Test
+    void rejectsTheSameTerminalTwice() {
+        Terminal<Integer, Long> count = Terminal.count();
+        assertThrows(IllegalArgumentException.class, () -> Stream.of(1).evaluateAll(List.of(count, count)));
+    }
+
+    @Test
+    void errorElementsFailTheTerminals() {
+        assertThrows(ErrorsAtTerminalOperationException.class,
+                () -> Stream.of(1, 0).map(x -> 1 / x).evaluateAll(List.of(Terminal.<Integer>findFirst(),
+                        Terminal.toCollection(ArrayList::new))));
+    }
+
+    @Test
+    void rejectsCheckedStreams() {
+        assertThrows(CheckedStreamException.class,
+                () -> Stream.of(1).mapChecked(x -> x).evaluateAll(List.of(Terminal.<Integer>count())));
+    }
+}
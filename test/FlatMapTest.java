@@ -0,0 +1,114 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class FlatMapTest {
+
+    private static <T> List<T> toList(Stream<T> stream) {
+        return new ArrayList<>(stream.toCollection(ArrayList::new));
+    }
+
+    @Test
+    void innerElementsFollowEachOtherInOrder() {
+        assertEquals(List.of(1, 10, 2, 20, 3, 30),
+                toList(Stream.of(1, 2, 3).flatMap(x -> Stream.of(x, x * 10))));
+    }
+
+    @Test
+    void nullAndEmptyInnerStreamsAddNoElements() {
+        assertEquals(List.of(3),
+                toList(Stream.of(1, 2, 3).flatMap(x -> x == 1 ? null : x == 2 ? Stream.<Integer>of() : Stream.of(x))));
+    }
+
+    @Test
+    void expansionStopsWhenNoMoreElementsAreNeeded() {
+        AtomicInteger mapped = new AtomicInteger();
+        Optional<Integer> first = Stream.of(1, 2, 3).flatMap(x -> {
+            mapped.incrementAndGet();
+            return Stream.of(java.util.stream.Stream.iterate(x, i -> i + 1));
+        }).findFirst();
+        assertEquals(Optional.of(1), first);
+        assertEquals(1, mapped.get());
+    }
+
+    @Test
+    void mapperFailureBecomesErrorElement() {
+        List<Integer> result = toList(Stream.of(1, 2, 3).flatMap(x -> {
+            if (x == 2)
+                throw new IllegalArgumentException();
+            return Stream.of(x);
+        }).onErrorMap(errors -> -1));
+        assertEquals(List.of(1, -1, 3), result);
+    }
+
+    @Test
+    void innerFailureKeepsElementsAlreadyPassedOn() {
+        List<Integer> result = toList(Stream.of(1, 2).flatMap(x -> Stream.of(x, 0).map(i -> 10 / i))
+                .onErrorMap(errors -> -1));
+        assertEquals(List.of(10, -1, 5, -1), result);
+    }
+
+    @Test
+    void flatMapCheckedMakesTheStreamChecked() {
+        Stream<Integer> stream = Stream.of(1, 2).flatMapChecked(x -> {
+            if (x == 2)
+                throw new IOException();
+            return Stream.of(x);
+        });
+        assertThrows(CheckedStreamException.class, stream::count);
+    }
+
+    @Test
+    void flatMapCheckedErrorsCanBeHandled() {
+        List<Integer> result = toList(Stream.of(1, 2).<Integer>flatMapChecked(x -> {
+            if (x == 2)
+                throw new IOException();
+            return Stream.of(x);
+        }).onErrorMap(errors -> -1));
+        assertEquals(List.of(1, -1), result);
+    }
+
+    @Test
+    void checkedInnerStreamsMakeTheStreamChecked() {
+        Stream<Integer> stream = Stream.of(1, 2).flatMap(x -> Stream.of(x).mapChecked(i -> i)).map(x -> x);
+        assertThrows(CheckedStreamException.class, () -> stream.toCollection(ArrayList::new));
+    }
+
+    @Test
+    void errorsOfCheckedInnerStreamsCanBeHandled() {
+        List<Integer> result = toList(Stream.of(1, 2, 3).flatMap(x -> Stream.of(x).mapChecked(i -> {
+            if (i == 2)
+                throw new IOException();
+            return i;
+        })).onErrorFilter());
+        assertEquals(List.of(1, 3), result);
+        List<Integer> nested = toList(Stream.of(1, 2).flatMap(x -> Stream.of(x).flatMap(y -> Stream.of(y).mapChecked(i -> {
+            if (i == 2)
+                throw new IOException();
+            return i;
+        }))).onErrorMap(errors -> -1));
+        assertEquals(List.of(1, -1), nested);
+    }
+
+    @Test
+    void cachedStreamsRememberCheckedInnerStreams() {
+        CachedStream<Integer> cached = Stream.of(1, 2).flatMap(x -> Stream.of(x).mapChecked(i -> i)).cache();
+        assertThrows(CheckedStreamException.class, () -> cached.stream().toCollection(ArrayList::new));
+        assertEquals(List.of(1, 2), toList(cached.stream().onErrorFilter()));
+    }
+
+    @Test
+    void consumedInnerStreamIsAUsageError() {
+        Stream<Integer> inner = Stream.of(1);
+        inner.count();
+        assertThrows(IllegalStateException.class,
+                () -> Stream.of(1, 2).flatMap(x -> inner).onErrorMap(errors -> -1).toCollection(ArrayList::new));
+    }
+}
@@ -0,0 +1,115 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class JoinTest {
+
+    private static <T extends Comparable<? super T>> List<T> sorted(Stream<T> stream) {
+        List<T> list = new ArrayList<>(stream.toCollection(ArrayList::new));
+        list.sort(null);
+        return list;
+    }
+
+    private static long spillFiles() throws IOException {
+        try (java.util.stream.Stream<Path> files = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(p -> p.getFileName().toString().startsWith("tolerant-join")).count();
+        }
+    }
+
+    @Test
+    void innerJoinCombinesAllMatchingPairs() {
+        Stream<String> result = Stream.of(1, 2, 3, 4).join(Stream.of("a1", "b2", "c2", "d5"), x -> x,
+                s -> s.charAt(1) - '0', (x, s) -> x + s);
+        assertEquals(List.of("1a1", "2b2", "2c2"), sorted(result));
+    }
+
+    @Test
+    void leftOuterJoinKeepsUnmatchedElements() {
+        Stream<String> result = Stream.of(1, 2, 3).leftOuterJoin(Stream.of("a1", "b3"), x -> x,
+                s -> s.charAt(1) - '0', (x, s) -> x + "-" + s);
+        assertEquals(List.of("1-a1", "2-null", "3-b3"), sorted(result));
+    }
+
+    @Test
+    void spilledJoinHasTheSameResult() throws IOException {
+        long filesBefore = spillFiles();
+        List<Integer> left = IntStream.range(0, 2_000).boxed().collect(Collectors.toList());
+        List<Integer> right = IntStream.range(0, 3_000).map(i -> i * 2).boxed().collect(Collectors.toList());
+        List<Integer> expected = left.stream().filter(x -> x % 2 == 0).map(x -> x * 10)
+                .collect(Collectors.toList());
+        assertEquals(expected, sorted(Stream.of(left).<Integer, Integer>join(Stream.of(right), x -> x, y -> y, (x, y) -> x * 10, 100)));
+        assertEquals(filesBefore, spillFiles());
+    }
+
+    @Test
+    void spillFilesAreDeletedWhenTheEvaluationFails() throws IOException {
+        long filesBefore = spillFiles();
+        List<Integer> values = IntStream.range(0, 2_000).boxed().collect(Collectors.toList());
+        Stream<Integer> joined = Stream.of(values).join(Stream.of(values), x -> x, y -> y, (x, y) -> x, 100);
+        assertThrows(IllegalStateException.class, () -> joined.reduce((a, b) -> {
+            throw new IllegalStateException();
+        }));
+        assertEquals(filesBefore, spillFiles());
+    }
+
+    @Test
+    void buildPhaseStopsWhenCancelled() {
+        CancellationToken token = new CancellationToken();
+        AtomicInteger built = new AtomicInteger();
+        Stream<Integer> other = Stream.of(java.util.stream.Stream.iterate(0, i -> i + 1));
+        PartialResult<Long> result = Stream.of(1, 2, 3).join(other, x -> x, y -> {
+            if (built.incrementAndGet() == 100)
+                token.cancel();
+            return y;
+        }, (x, y) -> x).evaluate(Terminal.count(), token);
+        assertFalse(result.isComplete());
+        assertEquals(100, built.get());
+    }
+
+    @Test
+    void resultsFollowTheOrderOfTheProbeSide() {
+        List<Integer> other = List.of(4, 3, 2, 1, 2, 3, 4);
+        List<String> probedByThis = new ArrayList<>(Stream.of(List.of(1, 2, 3, 4, 5, 6, 7, 8))
+                .join(Stream.of(other.stream().map(y -> y)), x -> x, y -> y, (x, y) -> x + "/" + y)
+                .toCollection(ArrayList::new));
+        assertEquals(List.of("1/1", "2/2", "2/2", "3/3", "3/3", "4/4", "4/4"), probedByThis);
+        List<String> probedByOther = new ArrayList<>(Stream.of(List.of(1, 2, 3, 4))
+                .join(Stream.of(other), x -> x, y -> y, (x, y) -> x + "/" + y).toCollection(ArrayList::new));
+        assertEquals(List.of("4/4", "3/3", "2/2", "1/1", "2/2", "3/3", "4/4"), probedByOther);
+    }
+
+    @Test
+    void keyFailuresBecomeErrorElements() {
+        Stream<Integer> result = Stream.of(1, 0, 2).join(Stream.of(1, 2), x -> 2 / x, y -> y, (x, y) -> x);
+        assertEquals(List.of(-1, 1, 2), sorted(result.onErrorMap(errors -> -1)));
+    }
+
+    @Test
+    void checkedOtherStreamMakesTheResultChecked() {
+        Stream<Integer> other = Stream.of(1).mapChecked(y -> {
+            if (y < 0)
+                throw new IOException();
+            return y;
+        });
+        Stream<Integer> result = Stream.of(1).join(other, x -> x, y -> y, (x, y) -> x);
+        assertThrows(CheckedStreamException.class, result::count);
+    }
+
+    @Test
+    void rejectsNonPositiveLimits() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Stream.of(1).join(Stream.of(1), x -> x, y -> y, (x, y) -> x, 0));
+    }
+}
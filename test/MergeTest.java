@@ -0,0 +1,120 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.Test;
+
+class MergeTest {
+
+    private static <T> List<T> toList(Stream<T> stream) {
+        return new ArrayList<>(stream.toCollection(ArrayList::new));
+    }
+
+    private static Stream<Integer> range(int from, int to) {
+        return Stream.of(IntStream.range(from, to).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    void arrivalOrderKeepsTheOrderOfEachSource() {
+        List<Integer> result = toList(Stream.merge(List.of(range(0, 1_000), range(1_000, 2_000), range(2_000, 3_000)), 2));
+        assertEquals(3_000, result.size());
+        for (int source = 0; source < 3; source++) {
+            int from = source * 1_000;
+            List<Integer> ofSource = result.stream().filter(x -> x >= from && x < from + 1_000)
+                    .collect(Collectors.toList());
+            assertEquals(IntStream.range(from, from + 1_000).boxed().collect(Collectors.toList()), ofSource);
+        }
+    }
+
+    @Test
+    void sourceOrderConcatenates() {
+        assertEquals(List.of(0, 1, 2, 10, 11, 20),
+                toList(Stream.merge(List.of(range(0, 3), range(10, 12), range(20, 21)), 3, MergeOrder.SOURCE)));
+    }
+
+    @Test
+    void roundRobinAlternates() {
+        assertEquals(List.of(0, 10, 1, 11, 2, 12),
+                toList(Stream.merge(List.of(range(0, 3), range(10, 13)), 2, MergeOrder.ROUND_ROBIN)));
+    }
+
+    @Test
+    void sourceFailuresBecomeErrorElements() {
+        Iterator<Integer> failing = new Iterator<>() {
+            int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < 3;
+            }
+
+            @Override
+            public Integer next() {
+                if (next++ == 0)
+                    throw new IllegalStateException();
+                return next;
+            }
+        };
+        Stream<Integer> bad = Stream.of(StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(failing, Spliterator.ORDERED), false));
+        List<Integer> result = toList(Stream.merge(List.of(bad, range(10, 100)), 2).onErrorMap(errors -> -1));
+        assertTrue(result.contains(-1));
+        assertTrue(result.containsAll(IntStream.range(10, 100).boxed().collect(Collectors.toList())));
+    }
+
+    @Test
+    void stopsReadingWhenNoMoreElementsAreNeeded() {
+        Stream<Integer> infinite = Stream.of(java.util.stream.Stream.iterate(1, i -> i + 1));
+        Stream<Integer> alsoInfinite = Stream.of(java.util.stream.Stream.iterate(1, i -> i + 1));
+        Optional<Integer> first = Stream.merge(List.of(infinite, alsoInfinite), 2, MergeOrder.SOURCE).findFirst();
+        assertEquals(Optional.of(1), first);
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> Stream.merge(List.of(range(0, 1)), 0));
+        assertThrows(IllegalArgumentException.class, () -> Stream.merge(List.of(Stream.of(1).map(x -> x)), 1));
+    }
+
+    @Test
+    void aSourceThatFailsWithoutAdvancingEndsWithOneErrorElement() {
+        Iterator<Integer> stuck = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                throw new IllegalStateException();
+            }
+        };
+        Stream<Integer> bad = Stream.of(StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(stuck, Spliterator.ORDERED), false));
+        List<Integer> result = toList(Stream.merge(List.of(bad, range(10, 13)), 2, MergeOrder.SOURCE)
+                .onErrorMap(errors -> -1));
+        assertEquals(List.of(-1, 10, 11, 12), result);
+    }
+
+    @Test
+    void errorsOfAReaderAreRethrown() {
+        Stream<Integer> failing = Stream.of(java.util.stream.Stream.of(1, 2, 3).map(x -> {
+            if (x == 3)
+                throw new AssertionError("reader failed");
+            return x;
+        }));
+        AssertionError e = assertThrows(AssertionError.class,
+                () -> Stream.merge(List.of(failing, range(10, 13)), 2).toCollection(ArrayList::new));
+        assertEquals("reader failed", e.getMessage());
+    }
+}
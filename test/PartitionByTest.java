@@ -0,0 +1,93 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class PartitionByTest {
+
+    private static <T> List<T> toList(Stream<T> stream) {
+        return new ArrayList<>(stream.toCollection(ArrayList::new));
+    }
+
+    private static List<Integer> range(int n) {
+        return IntStream.range(0, n).boxed().collect(Collectors.toList());
+    }
+
+    @Test
+    void keepsAllElementsAndTheOrderPerKey() {
+        List<Integer> result = toList(Stream.of(range(10_000)).partitionBy(x -> x % 7, 4).map(x -> x + 1));
+        assertEquals(10_000, result.size());
+        Map<Integer, Integer> lastPerKey = new HashMap<>();
+        for (int x : result) {
+            Integer last = lastPerKey.put(x % 7, x);
+            assertTrue(last == null || last < x, "order of key " + x % 7);
+        }
+        result.sort(null);
+        assertEquals(IntStream.rangeClosed(1, 10_000).boxed().collect(Collectors.toList()), result);
+    }
+
+    @Test
+    void downstreamRunsOnTheLanes() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        Stream.of(range(1_000)).partitionBy(x -> x, 3).map(x -> threads.add(Thread.currentThread().getName())).count();
+        assertTrue(threads.size() <= 3, threads.toString());
+        assertFalse(threads.contains(Thread.currentThread().getName()));
+    }
+
+    @Test
+    void statefulOperationsWorkPerLane() {
+        List<Integer> result = toList(Stream.of(1, 2, 1, 3, 2, 1).partitionBy(x -> x, 2).distinct());
+        result.sort(null);
+        assertEquals(List.of(1, 2, 3), result);
+    }
+
+    @Test
+    void keyFnFailureBecomesErrorElement() {
+        List<Integer> result = toList(Stream.of(1, 0, 2).partitionBy(x -> 1 / x, 2).onErrorMap(errors -> -1));
+        result.sort(null);
+        assertEquals(List.of(-1, 1, 2), result);
+    }
+
+    @Test
+    void laneFailureIsThrownByTheTerminal() {
+        assertThrows(IllegalStateException.class, () -> Stream.of(range(1_000)).partitionBy(x -> x, 2)
+                .reduce((a, b) -> {
+                    throw new IllegalStateException();
+                }));
+    }
+
+    @Test
+    void lanesStopWhenTheSourceFails() throws InterruptedException {
+        Stream<Integer> failing = Stream.of(range(1_000).stream().map(x -> {
+            if (x == 500)
+                throw new IllegalStateException();
+            return x;
+        }));
+        assertThrows(IllegalStateException.class, () -> failing.partitionBy(x -> x, 4).count());
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (laneThreads() > 0 && System.nanoTime() < deadline)
+            Thread.sleep(10);
+        assertEquals(0, laneThreads());
+    }
+
+    private static long laneThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(t -> t.isAlive() && t.getName().startsWith("tolerant-stream-lane")).count();
+    }
+
+    @Test
+    void rejectsNonPositiveLanes() {
+        assertThrows(IllegalArgumentException.class, () -> Stream.of(1).partitionBy(x -> x, 0));
+    }
+}
@@ -0,0 +1,126 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.Test;
+
+class PrefetchTest {
+
+    private static <T> List<T> toList(Stream<T> stream) {
+        return new ArrayList<>(stream.toCollection(ArrayList::new));
+    }
+
+    private static <T> Stream<T> sourceOf(Iterator<T> iterator) {
+        return Stream.of(StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false));
+    }
+
+    @Test
+    void keepsAllElementsInOrder() {
+        List<Integer> values = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+        assertEquals(values, toList(Stream.prefetch(Stream.of(values), 16)));
+    }
+
+    @Test
+    void readsTheSourceOnAnotherThread() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        Iterator<Integer> source = new Iterator<>() {
+            int next;
+
+            @Override
+            public boolean hasNext() {
+                threads.add(Thread.currentThread().getName());
+                return next < 100;
+            }
+
+            @Override
+            public Integer next() {
+                return next++;
+            }
+        };
+        assertEquals(100, Stream.prefetch(sourceOf(source), 8).count());
+        assertEquals(Set.of("tolerant-stream-prefetch"), threads);
+    }
+
+    @Test
+    void failingElementsBecomeErrorElements() {
+        Iterator<Integer> source = new Iterator<>() {
+            int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < 3;
+            }
+
+            @Override
+            public Integer next() {
+                if (++next == 2)
+                    throw new IllegalStateException();
+                return next;
+            }
+        };
+        List<Integer> result = toList(Stream.prefetch(sourceOf(source), 4).onErrorMap(errors -> -1));
+        assertEquals(List.of(1, -1), result);
+    }
+
+    @Test
+    void aSourceThatFailsWithoutAdvancingEndsWithOneErrorElement() {
+        Iterator<Integer> stuck = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                throw new IllegalStateException();
+            }
+        };
+        assertEquals(List.of(-1), toList(Stream.prefetch(sourceOf(stuck), 4).onErrorMap(errors -> -1)));
+    }
+
+    @Test
+    void errorsOfTheProducerAreRethrown() {
+        Stream<Integer> failing = Stream.of(java.util.stream.Stream.of(1, 2, 3).map(x -> {
+            if (x == 3)
+                throw new AssertionError("producer failed");
+            return x;
+        }));
+        AssertionError e = assertThrows(AssertionError.class,
+                () -> Stream.prefetch(failing, 4).toCollection(ArrayList::new));
+        assertEquals("producer failed", e.getMessage());
+    }
+
+    @Test
+    void stopsReadingWhenNoMoreElementsAreNeeded() throws InterruptedException {
+        AtomicInteger read = new AtomicInteger();
+        Stream<Integer> infinite = Stream.of(java.util.stream.Stream.generate(read::incrementAndGet));
+        assertEquals(Optional.of(1), Stream.prefetch(infinite, 4).findFirst());
+        Thread.sleep(50);
+        int afterStop = read.get();
+        Thread.sleep(50);
+        assertEquals(afterStop, read.get());
+        assertTrue(afterStop <= 1 + 4 + 1, "read ahead " + afterStop);
+    }
+
+    @Test
+    void rejectsInvalidUse() {
+        assertThrows(IllegalArgumentException.class, () -> Stream.prefetch(Stream.of(1), 0));
+        assertThrows(IllegalArgumentException.class, () -> Stream.prefetch(Stream.of(1), (1 << 30) + 1));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> Stream.prefetch(Stream.of(1).map(x -> x), 4));
+        assertEquals("Only streams without any operations can be prefetched", e.getMessage());
+    }
+}
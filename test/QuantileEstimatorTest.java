@@ -0,0 +1,66 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class QuantileEstimatorTest {
+
+    private static QuantileEstimator estimatorOf(double p, double... values) {
+        QuantileEstimator estimator = new QuantileEstimator(p);
+        for (double value : values)
+            estimator.add(value);
+        return estimator;
+    }
+
+    @Test
+    void emptyHasNoQuantile() {
+        assertFalse(new QuantileEstimator(0.5).get().isPresent());
+    }
+
+    @Test
+    void fewerThanFiveValuesAreExact() {
+        assertEquals(2.0, estimatorOf(0.5, 3, 1, 2).get().getAsDouble());
+        assertEquals(1.0, estimatorOf(0.0, 3, 1, 2).get().getAsDouble());
+        assertEquals(3.0, estimatorOf(1.0, 3, 1, 2).get().getAsDouble());
+        assertEquals(1.5, estimatorOf(0.25, 3, 1, 2).get().getAsDouble(), 1e-12);
+    }
+
+    @Test
+    void fiveValuesAreExact() {
+        assertEquals(4.6, estimatorOf(0.9, 5, 4, 3, 2, 1).get().getAsDouble(), 1e-12);
+        assertEquals(1.4, estimatorOf(0.1, 1, 2, 3, 4, 5).get().getAsDouble(), 1e-12);
+        assertEquals(5.0, estimatorOf(1.0, 2, 5, 1, 4, 3).get().getAsDouble());
+    }
+
+    @Test
+    void extremesAreExactForManyValues() {
+        assertEquals(1.0, estimatorOf(0.0, 6, 2, 1, 9, 4, 7, 3).get().getAsDouble());
+        assertEquals(9.0, estimatorOf(1.0, 6, 2, 1, 9, 4, 7, 3).get().getAsDouble());
+    }
+
+    @Test
+    void manyValuesAreEstimatedClosely() {
+        List<Double> values = new ArrayList<>();
+        for (int i = 0; i <= 100_000; i++)
+            values.add((double) i);
+        Collections.shuffle(values, new Random(42));
+        for (double p : new double[] { 0.1, 0.5, 0.9, 0.99 }) {
+            QuantileEstimator estimator = new QuantileEstimator(p);
+            values.forEach(estimator::add);
+            assertEquals(p * 100_000, estimator.get().getAsDouble(), 1_000, "p=" + p);
+        }
+    }
+
+    @Test
+    void rejectsInvalidQuantiles() {
+        assertThrows(IllegalArgumentException.class, () -> new QuantileEstimator(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileEstimator(1.1));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileEstimator(Double.NaN));
+    }
+}
@@ -0,0 +1,74 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+class ResultTest {
+
+    private static <T> List<T> toList(Stream<T> stream) {
+        return new ArrayList<>(stream.toCollection(ArrayList::new));
+    }
+
+    private static Result<Integer> half(int x) {
+        return x % 2 == 0 ? Result.success(x / 2) : Result.failure("ODD", x + " is odd");
+    }
+
+    @Test
+    void successAndFailure() {
+        Result<Integer> success = Result.success(1);
+        assertTrue(success.isSuccess());
+        assertEquals(1, success.getValue());
+        Result<Integer> failure = Result.failure("CODE", "message");
+        assertFalse(failure.isSuccess());
+        assertEquals("CODE", failure.getCode());
+        assertEquals("message", failure.getMessage());
+        assertThrows(NoSuchElementException.class, failure::getValue);
+    }
+
+    @Test
+    void mapResultPassesFailuresAsErrorElements() {
+        List<String> result = toList(Stream.of(2, 3, 4).mapResult(ResultTest::half).map(String::valueOf)
+                .onErrorMap(errors -> ((ResultException) errors.get(0)).getCode()));
+        assertEquals(List.of("1", "ODD", "2"), result);
+    }
+
+    @Test
+    void resultExceptionCarriesCodeAndMessage() {
+        List<Exception> errors = new ArrayList<>();
+        Stream.of(3).mapResult(ResultTest::half).onErrorMap(list -> {
+            errors.addAll(list);
+            return 0;
+        }).toCollection(ArrayList::new);
+        assertEquals("ODD: 3 is odd", errors.get(0).getMessage());
+        assertEquals(0, errors.get(0).getStackTrace().length);
+    }
+
+    @Test
+    void filterResultKeepsTrueAndPassesFailures() {
+        List<Integer> result = toList(Stream.of(1, 2, 3, 4)
+                .filterResult(x -> x == 3 ? Result.failure("THREE", null) : Result.success(x % 2 == 0))
+                .onErrorMap(errors -> -1));
+        assertEquals(List.of(2, -1, 4), result);
+    }
+
+    @Test
+    void resultOperationsKeepTheStreamUnchecked() {
+        assertEquals(List.of(1, 2, 3), toList(Stream.of(1, 2, 3).mapResult(Result::success)));
+        assertEquals(List.of(2), toList(Stream.of(1, 2, 3).filterResult(x -> Result.success(x == 2))));
+        ErrorsAtTerminalOperationException e = assertThrows(ErrorsAtTerminalOperationException.class,
+                () -> Stream.of(2, 3).mapResult(ResultTest::half).toCollection(ArrayList::new));
+        assertTrue(e.getMessage().contains("ODD: 3 is odd"), e.getMessage());
+    }
+
+    @Test
+    void resultOperationsKeepCheckedStreamsChecked() {
+        Stream<Integer> checked = Stream.of(1, 2).mapChecked(x -> x).mapResult(Result::success);
+        assertThrows(CheckedStreamException.class, () -> checked.toCollection(ArrayList::new));
+    }
+}
@@ -0,0 +1,61 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+class RunningAggregatesTest {
+
+    private static <T> List<T> toList(Stream<T> stream) {
+        return new ArrayList<>(stream.toCollection(ArrayList::new));
+    }
+
+    @Test
+    void scanEmitsTheRunningValue() {
+        assertEquals(List.of(1, 3, 6, 10), toList(Stream.of(1, 2, 3, 4).scan(0, Integer::sum)));
+        assertEquals(List.of("a", "ab"), toList(Stream.of("a", "b").scan("", String::concat)));
+    }
+
+    @Test
+    void scanPassesErrorsWithoutAccumulatingThem() {
+        List<Integer> result = toList(Stream.of(1, 2, 0, 3).map(x -> 6 / x).scan(0, Integer::sum)
+                .onErrorMap(errors -> -1));
+        assertEquals(List.of(6, 9, -1, 11), result);
+    }
+
+    @Test
+    void runningReduceEmitsEveryNElementsAndAtTheEnd() {
+        List<RunningSnapshot<Integer>> snapshots = toList(Stream.of(1, 2, 3, 4, 5).runningReduce(Integer::sum, 2));
+        assertEquals(List.of(Optional.of(3), Optional.of(10), Optional.of(15)),
+                snapshots.stream().map(RunningSnapshot::getValue).collect(Collectors.toList()));
+        assertEquals(List.of(2L, 4L, 5L),
+                snapshots.stream().map(RunningSnapshot::getElements).collect(Collectors.toList()));
+    }
+
+    @Test
+    void runningReduceCountsErrorsInsteadOfFailing() {
+        List<RunningSnapshot<Integer>> snapshots = toList(Stream.of(1, 0, 2).map(x -> 2 / x)
+                .runningReduce(Integer::sum, 10));
+        assertEquals(1, snapshots.size());
+        assertEquals(Optional.of(3), snapshots.get(0).getValue());
+        assertEquals(1, snapshots.get(0).getErrors());
+    }
+
+    @Test
+    void runningReduceByTimeEmitsAtLeastTheFinalSnapshot() {
+        List<RunningSnapshot<Integer>> snapshots = toList(Stream.of(1, 2, 3)
+                .runningReduce(Integer::sum, Duration.ofHours(1)));
+        assertEquals(Optional.of(6), snapshots.get(snapshots.size() - 1).getValue());
+    }
+
+    @Test
+    void rejectsInvalidIntervals() {
+        assertThrows(IllegalArgumentException.class, () -> Stream.of(1).runningReduce(Integer::sum, 0));
+        assertThrows(IllegalArgumentException.class, () -> Stream.of(1).runningReduce(Integer::sum, Duration.ZERO));
+    }
+}
@@ -0,0 +1,63 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SpillingHashTableTest {
+
+    private static List<String> joinAll(SpillingHashTable<Object, Object> table) {
+        List<String> joined = new ArrayList<>();
+        table.joinSpilled((probe, builds) -> {
+            for (Object build : builds)
+                joined.add(probe + "=" + build);
+        }, () -> true);
+        joined.sort(null);
+        return joined;
+    }
+
+    @Test
+    void partitionsLargerThanTheLimitAreSplitAgain() {
+        try (SpillingHashTable<Object, Object> table = new SpillingHashTable<>(2)) {
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++)
+                table.addBuild(i, "b" + i);
+            assertTrue(table.isSpilled());
+            for (int i = 0; i < 4_000; i += 2) {
+                table.addProbe(i, "p" + i);
+                if (i < 2_000)
+                    expected.add("p" + i + "=b" + i);
+            }
+            expected.sort(null);
+            assertEquals(expected, joinAll(table));
+            assertTrue(table.drainFailures().isEmpty());
+        }
+    }
+
+    @Test
+    void keysWithEqualHashesStayTogether() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        try (SpillingHashTable<Object, Object> table = new SpillingHashTable<>(1)) {
+            table.addBuild("Aa", 1);
+            table.addBuild("BB", 2);
+            table.addBuild("Aa", 3);
+            table.addProbe("BB", "x");
+            table.addProbe("Aa", "y");
+            assertEquals(List.of("x=2", "y=1", "y=3"), joinAll(table));
+        }
+    }
+
+    @Test
+    void staysInMemoryUpToTheLimit() {
+        try (SpillingHashTable<Object, Object> table = new SpillingHashTable<>(3)) {
+            table.addBuild(1, "a");
+            table.addBuild(1, "b");
+            table.addBuild(2, "c");
+            assertFalse(table.isSpilled());
+            assertEquals(List.of("a", "b"), table.get(1));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class SpscQueueTest {
+
+    @Test
+    void holdsExactlyTheCapacity() {
+        SpscQueue<Integer> queue = new SpscQueue<>(1000);
+        for (int i = 0; i < 1000; i++)
+            assertTrue(queue.offer(i));
+        assertFalse(queue.offer(1000));
+        assertEquals(0, queue.poll());
+        assertTrue(queue.offer(1000));
+        assertFalse(queue.offer(1001));
+    }
+
+    @Test
+    void pollsInOfferOrder() {
+        SpscQueue<Integer> queue = new SpscQueue<>(3);
+        for (int round = 0; round < 10; round++) {
+            queue.offer(round);
+            queue.offer(round + 100);
+            assertEquals(round, queue.poll());
+            assertEquals(round + 100, queue.poll());
+            assertNull(queue.poll());
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    void handsElementsToAnotherThread() throws InterruptedException {
+        SpscQueue<Integer> queue = new SpscQueue<>(16);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 100_000; i++)
+                while (!queue.offer(i))
+                    Thread.onSpinWait();
+        });
+        producer.start();
+        for (int i = 0; i < 100_000; i++) {
+            Integer e;
+            while ((e = queue.poll()) == null)
+                Thread.onSpinWait();
+            assertEquals(i, e);
+        }
+        producer.join();
+    }
+
+    @Test
+    void rejectsInvalidCapacities() {
+        assertThrows(IllegalArgumentException.class, () -> new SpscQueue<Integer>(0));
+        assertThrows(IllegalArgumentException.class, () -> new SpscQueue<Integer>((1 << 30) + 1));
+    }
+}
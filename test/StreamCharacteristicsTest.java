@@ -0,0 +1,26 @@
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+import org.junit.jupiter.api.Test;
+
+class StreamCharacteristicsTest {
+
+    @Test
+    void nonNullIsTakenFromTheSpliterator() {
+        assertTrue(StreamCharacteristics.of(Spliterators.spliterator(new Object[] { 1 }, Spliterator.NONNULL))
+                .isNonNull());
+        assertFalse(StreamCharacteristics.of(Spliterators.spliterator(new Object[] { 1 }, 0)).isNonNull());
+    }
+
+    @Test
+    void nonNullSurvivesFilteringButNotNewValues() {
+        StreamCharacteristics nonNull = StreamCharacteristics.regular().withNonNull(true);
+        assertTrue(nonNull.withUnknownStreamSize().withDistinct(true).isNonNull());
+        assertFalse(nonNull.withNewValues().isNonNull());
+        assertTrue(nonNull.concat(nonNull).isNonNull());
+        assertFalse(nonNull.concat(StreamCharacteristics.regular()).isNonNull());
+    }
+}